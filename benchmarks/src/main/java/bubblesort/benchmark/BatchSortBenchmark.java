@@ -0,0 +1,102 @@
+package bubblesort.benchmark;
+
+import bubblesort.BatchSorter;
+import bubblesort.InputGenerator;
+import bubblesort.SortContext;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Arrays per second when sorting many independent small arrays: BatchSorter on a
+ * long-lived context, the same with a new pool per call as the mains do, and an
+ * Arrays.sort loop on the calling thread. Lengths are uniform in [1, maxSize].
+ * Every invocation re-copies the inputs, which all three variants pay equally.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BatchSortBenchmark {
+    private static final int ARRAYS = 1000;
+    
+    @Param({"64", "1024"})
+    public int maxSize;
+    
+    @Param({"1", "4"})
+    public int threads;
+    
+    private int[][] inputs;
+    private int[][] work;
+    private SortContext ctx;
+    private BatchSorter sorter;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        InputGenerator uniform = new InputGenerator(InputGenerator.Distribution.UNIFORM);
+        inputs = new int[ARRAYS][];
+        work = new int[ARRAYS][];
+        for (int i = 0; i < ARRAYS; i++) {
+            inputs[i] = uniform.generate(1 + random.nextInt(maxSize), i);
+            work[i] = new int[inputs[i].length];
+        }
+        ctx = new SortContext(threads);
+        sorter = new BatchSorter(ctx);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+    
+    private int[][] freshCopies() {
+        for (int i = 0; i < ARRAYS; i++) {
+            System.arraycopy(inputs[i], 0, work[i], 0, inputs[i].length);
+        }
+        return work;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ARRAYS)
+    public int[][] sharedContext() {
+        int[][] arrays = freshCopies();
+        sorter.sortAll(arrays);
+        return arrays;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ARRAYS)
+    public int[][] poolPerCall() {
+        int[][] arrays = freshCopies();
+        try (SortContext perCall = new SortContext(threads)) {
+            new BatchSorter(perCall).sortAll(arrays);
+        }
+        return arrays;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ARRAYS)
+    public int[][] arraysSortLoop() {
+        int[][] arrays = freshCopies();
+        for (int[] arr : arrays) {
+            Arrays.sort(arr);
+        }
+        return arrays;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package bubblesort.benchmark;
+
+import bubblesort.CompareExchangeKernels;
+import bubblesort.InputGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Elements per second through one compare-exchange pass for the scalar kernels and
+ * each Vector API species width. Scores are elements/us; every invocation restores the
+ * same random input so data-dependent scalar branches see the same work each time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class KernelBenchmark {
+    private static final int SIZE = 1 << 16;
+    
+    @Param({"scalar", "vector-64", "vector-128", "vector-256", "vector-512"})
+    public String kernels;
+    
+    private CompareExchangeKernels impl;
+    private int[] input;
+    private int[] work;
+    
+    @Setup
+    public void setUp() {
+        impl = CompareExchangeKernels.named(kernels);
+        if (kernels.startsWith("vector") && impl.name().equals("scalar")) {
+            throw new IllegalStateException("Vector API unavailable, " + kernels + " would measure the scalar kernels");
+        }
+        input = new InputGenerator(InputGenerator.Distribution.UNIFORM).generate(SIZE, 42);
+        work = new int[SIZE];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] oddEvenPhase() {
+        System.arraycopy(input, 0, work, 0, SIZE);
+        impl.oddEvenPairs(work, 1, SIZE);
+        return work;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] bitonicShortStride() {
+        // Stride 2 inside merge 8: partners sit in the same vector
+        System.arraycopy(input, 0, work, 0, SIZE);
+        impl.bitonicStage(work, 0, SIZE, 8, 2);
+        return work;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] bitonicLongStride() {
+        // Stride 1024 inside merge 2048: partners are whole vectors apart
+        System.arraycopy(input, 0, work, 0, SIZE);
+        impl.bitonicStage(work, 0, SIZE, 2048, 1024);
+        return work;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package bubblesort.benchmark;
+
+import bubblesort.BitonicSort;
+import bubblesort.CocktailShakerSort;
+import bubblesort.CombSort;
+import bubblesort.CompareExchangeKernels;
+import bubblesort.ForkJoinBubbleSort1;
+import bubblesort.ForkJoinBubbleSort2;
+import bubblesort.InputGenerator;
+import bubblesort.MultithreadedBubbleSort;
+import bubblesort.OddEvenSort;
+import bubblesort.SortContext;
+import bubblesort.SortingNetworks;
+import bubblesort.TiledOddEvenSort;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the multi-threaded sorts and the Arrays.parallelSort baseline.
+ * The ForkJoinPool is created once per trial so pool startup is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParallelSortBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int size;
+    
+    @Param({"1", "2", "4"})
+    public int threads;
+    
+    @Param({"uniform", "sorted", "reverse", "nearly-sorted"})
+    public String distribution;
+    
+    private int[] input;
+    private int[] work;
+    private ForkJoinPool pool;
+    private int tileSize;
+    
+    @Setup
+    public void setUp() {
+        input = InputGenerator.parse(distribution).generate(size, 42);
+        work = new int[size];
+        pool = new ForkJoinPool(threads);
+        tileSize = TiledOddEvenSort.autoTileSize();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+    
+    private int[] freshCopy() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        return work;
+    }
+    
+    @Benchmark
+    public int[] multithreadedBubbleSort() throws InterruptedException {
+        int[] arr = freshCopy();
+        MultithreadedBubbleSort.multithreadedBubbleSort(arr, pool, threads);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] multithreadedNetworkLeaf() throws InterruptedException {
+        int[] arr = freshCopy();
+        MultithreadedBubbleSort.multithreadedBubbleSort(arr, pool, threads, new int[arr.length], SortingNetworks::sort);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] forkJoinBubbleSort1() {
+        int[] arr = freshCopy();
+        ForkJoinBubbleSort1.parallelBubbleSort(arr, pool);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] forkJoinBubbleSort1PersistentWorkers() {
+        int[] arr = freshCopy();
+        ForkJoinBubbleSort1.persistentWorkerBubbleSort(arr, pool, threads, SortContext.DEFAULT_THRESHOLD);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] combSort() {
+        int[] arr = freshCopy();
+        CombSort.parallelCombSort(arr, pool, threads, SortContext.DEFAULT_THRESHOLD, CompareExchangeKernels.scalar());
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] cocktailShakerSort() {
+        int[] arr = freshCopy();
+        CocktailShakerSort.parallelCocktailShakerSort(arr, pool, SortContext.DEFAULT_THRESHOLD);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] forkJoinBubbleSort1Tiled() {
+        int[] arr = freshCopy();
+        TiledOddEvenSort.parallelTiledOddEvenSort(arr, pool, threads, tileSize, CompareExchangeKernels.scalar());
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] forkJoinBubbleSort2() {
+        int[] arr = freshCopy();
+        ForkJoinBubbleSort2.parallelBubbleSort(arr, pool);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] forkJoinBubbleSort2PingPong() {
+        int[] arr = freshCopy();
+        ForkJoinBubbleSort2.pingPongBubbleSort(arr, pool, SortContext.DEFAULT_THRESHOLD, false);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] forkJoinBubbleSort2NetworkLeaf() {
+        int[] arr = freshCopy();
+        ForkJoinBubbleSort2.pingPongBubbleSort(arr, pool, SortContext.DEFAULT_THRESHOLD, false, new int[arr.length],
+            SortingNetworks::sort);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] blockOddEvenSort() {
+        int[] arr = freshCopy();
+        OddEvenSort.blockOddEvenSort(arr, pool, threads, threads, OddEvenSort::oddEvenSort);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] parallelBitonicSort() {
+        int[] arr = freshCopy();
+        BitonicSort.parallelBitonicSort(arr, pool, SortContext.DEFAULT_THRESHOLD);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] arraysParallelSort() {
+        int[] arr = freshCopy();
+        // Tasks forked from inside a pool stay in that pool, so this honours the thread count
+        pool.submit(() -> Arrays.parallelSort(arr)).join();
+        return arr;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package bubblesort.benchmark;
+
+import bubblesort.BitonicSort;
+import bubblesort.CompareExchangeKernels;
+import bubblesort.InputGenerator;
+import bubblesort.OddEvenSort;
+import bubblesort.SequentialBubbleSort;
+import bubblesort.TiledOddEvenSort;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the single-threaded sorts and the Arrays.sort baseline.
+ * Every invocation sorts a fresh copy of the same generated input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SequentialSortBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int size;
+    
+    @Param({"uniform", "sorted", "reverse", "nearly-sorted"})
+    public String distribution;
+    
+    private int[] input;
+    private int[] work;
+    private int tileSize;
+    
+    @Setup
+    public void setUp() {
+        input = InputGenerator.parse(distribution).generate(size, 42);
+        work = new int[size];
+        tileSize = TiledOddEvenSort.autoTileSize();
+    }
+    
+    private int[] freshCopy() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        return work;
+    }
+    
+    @Benchmark
+    public int[] sequentialBubbleSort() {
+        int[] arr = freshCopy();
+        SequentialBubbleSort.sequentialBubbleSort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] oddEvenSort() {
+        int[] arr = freshCopy();
+        OddEvenSort.oddEvenSort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] tiledOddEvenSort() {
+        int[] arr = freshCopy();
+        TiledOddEvenSort.tiledOddEvenSort(arr, tileSize, CompareExchangeKernels.scalar());
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] bitonicSort() {
+        int[] arr = freshCopy();
+        BitonicSort.bitonicSort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] arraysSort() {
+        int[] arr = freshCopy();
+        Arrays.sort(arr);
+        return arr;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+#!/bin/sh
+# Regenerates the primitive-specialized sorts (LongSorts, DoubleSorts, FloatSorts,
+# ShortSorts) from src/main/templates/PrimitiveSorts.java.template.
+set -e
+cd "$(dirname "$0")"
+template=src/main/templates/PrimitiveSorts.java.template
+out=src/main/java/bubblesort
+
+generate() {
+    # $1 = primitive type, $2 = wrapper name, $3 = "greater than" expression, $4 = padding key, $5 = ordering note
+    sed -e "s/\\\$type\\\$/$1/g" \
+        -e "s/\\\$Type\\\$/$2/g" \
+        -e "s/\\\$GT\\\$/$3/g" \
+        -e "s/\\\$PAD\\\$/$4/g" \
+        -e "s/\\\$ORDER_NOTE\\\$/$5/g" \
+        "$template" > "$out/$2Sorts.java"
+}
+
+generate long Long "a > b" "Long.MAX_VALUE" ""
+generate short Short "a > b" "Short.MAX_VALUE" ""
+generate double Double "Double.compare(a, b) > 0" "Double.NaN" ": -0.0 sorts before 0.0 and NaN after every other value"
+generate float Float "Float.compare(a, b) > 0" "Float.NaN" ": -0.0f sorts before 0.0f and NaN after every other value"
@@ -0,0 +1,93 @@
+package bubblesort;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Front-end that profiles the input and dispatches to the registered algorithm expected
+ * to be fastest for its shape:
+ * - already sorted: one early-exit bubble pass
+ * - non-increasing: reverse in place
+ * - every pair LOCAL_DISTANCE or more apart in order, so elements sit close to their sorted
+ *   positions: odd-even transposition with early exit, on persistent workers when parallel
+ * - random or heavily duplicated: merge-based fork/join, or the parallel bitonic network
+ *   when the length is close enough to a power of two that padding is cheap
+ * Local disorder is suggested by the sampled profile and then confirmed with an exact
+ * parallel scan before odd-even is chosen; inputs that fail the scan are treated as
+ * disordered. Inputs too small to amortize the pool run sequentially. Every decision is logged
+ * at FINE, since sort runs inside timing loops; callers that want to report it once can
+ * call choose themselves.
+ */
+public class AdaptiveSort implements SortAlgorithm {
+    private static final Logger LOG = Logger.getLogger(AdaptiveSort.class.getName());
+    
+    /**
+     * The chosen algorithm and why
+     */
+    public static class Decision {
+        private final String algorithm;
+        private final String reason;
+        
+        Decision(String algorithm, String reason) {
+            this.algorithm = algorithm;
+            this.reason = reason;
+        }
+        
+        /**
+         * Registered algorithm name, or "reverse"
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
+    }
+    
+    @Override
+    public void sort(int[] a, SortContext ctx) {
+        PresortednessProbe.Profile profile = PresortednessProbe.probe(a, ctx.getPool());
+        Decision decision = choose(a, profile, ctx);
+        LOG.log(Level.FINE, () -> "Adaptive sort: " + profile + " -> " + decision.getAlgorithm() + " (" + decision.getReason() + ")");
+        
+        if (decision.getAlgorithm().equals("reverse")) {
+            for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+                ArrayUtils.swap(a, i, j);
+            }
+        } else {
+            SortAlgorithms.get(decision.getAlgorithm()).sort(a, ctx);
+        }
+    }
+    
+    /**
+     * Picks an algorithm for an input with the given profile. The array is only read, to
+     * confirm local disorder exactly when the sample suggests it.
+     */
+    public static Decision choose(int[] a, PresortednessProbe.Profile profile, SortContext ctx) {
+        int n = profile.getLength();
+        if (profile.isSorted()) {
+            return new Decision("sequential", "already sorted, one pass confirms it");
+        }
+        if (profile.isReversed()) {
+            return new Decision("reverse", "non-increasing input");
+        }
+        
+        boolean parallel = ctx.getParallelism() > 1 && n >= 4L * ctx.getThreshold();
+        if (profile.getFarInversionRatio() == 0 && profile.getInversionRatio() < 0.01
+                && PresortednessProbe.isLocallyOrdered(a, ctx.getPool())) {
+            // Elements are displaced by less than LOCAL_DISTANCE, so few odd-even rounds are needed
+            return new Decision(parallel ? "forkjoin1-barrier" : "odd-even", "only local disorder, confirmed by a full scan");
+        }
+        if (!parallel) {
+            return new Decision("bitonic", "disordered input too small for the pool");
+        }
+        if (profile.getDistinctRatio() < 0.05) {
+            return new Decision("forkjoin2-pingpong", "few distinct values");
+        }
+        if (n >= ArrayUtils.nextPowerOfTwo(n) * 3L / 4) {
+            return new Decision("bitonic-parallel", "disordered input, power-of-two padding under 34%");
+        }
+        return new Decision("forkjoin2-pingpong", "disordered input");
+    }
+}
\ No newline at end of file
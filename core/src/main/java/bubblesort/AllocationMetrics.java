@@ -0,0 +1,80 @@
+package bubblesort;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap allocation and GC pause counters read around a sort. Allocation is the JVM-wide
+ * total of bytes allocated by all threads, including pool workers and threads that have
+ * since exited, from com.sun.management.ThreadMXBean. GC time sums the collectors that
+ * stop the application; the concurrent cycle collectors of G1 and ZGC are left out.
+ */
+public final class AllocationMetrics {
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final GarbageCollectorMXBean[] PAUSING_COLLECTORS = pausingCollectors();
+    
+    private AllocationMetrics() {
+    }
+    
+    /**
+     * Whether allocated bytes can be measured on this JVM
+     */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+    
+    /**
+     * Bytes allocated by all threads since the JVM started, or -1 if unsupported
+     */
+    public static long allocatedBytes() {
+        return THREADS != null ? THREADS.getTotalThreadAllocatedBytes() : -1;
+    }
+    
+    /**
+     * Number of pausing collections since the JVM started
+     */
+    public static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : PAUSING_COLLECTORS) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+    
+    /**
+     * Accumulated time of pausing collections since the JVM started, in milliseconds
+     */
+    public static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : PAUSING_COLLECTORS) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+    
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // Fall through to unsupported
+        }
+        return null;
+    }
+    
+    private static GarbageCollectorMXBean[] pausingCollectors() {
+        List<GarbageCollectorMXBean> pausing = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String name = gc.getName();
+            if (!name.contains("Concurrent") && !name.contains("Cycles")) {
+                pausing.add(gc);
+            }
+        }
+        return pausing.toArray(new GarbageCollectorMXBean[0]);
+    }
+}
\ No newline at end of file
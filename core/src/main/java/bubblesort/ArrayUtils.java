@@ -0,0 +1,96 @@
+package bubblesort;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Array helpers shared by all sort implementations
+ */
+public final class ArrayUtils {
+    
+    private ArrayUtils() {
+    }
+    
+    /**
+     * Utility method to swap two elements in an array
+     */
+    public static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+    
+    /**
+     * Generates an array of random integers in [0, 1,000,000) from the given seed
+     */
+    public static int[] generateRandomArray(int size, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = random.nextInt(1000000);
+        }
+        return arr;
+    }
+    
+    /**
+     * Finds the next power of two that is greater than or equal to n
+     */
+    public static int nextPowerOfTwo(int n) {
+        int power = 1;
+        while (power < n) {
+            power *= 2;
+        }
+        return power;
+    }
+    
+    /**
+     * Checks that arr[from, to) is in ascending order
+     */
+    public static boolean isSorted(int[] arr, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (arr[i - 1] > arr[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Checks that the whole array is in ascending order with a parallel linear scan
+     */
+    public static boolean isSorted(int[] arr, ForkJoinPool pool) {
+        return pool.invoke(new SortedCheck(arr, 0, arr.length));
+    }
+    
+    /**
+     * Checks that [start, end) is ascending, including the pair across each split point
+     */
+    private static class SortedCheck extends RecursiveTask<Boolean> {
+        private static final int CHUNK = 1 << 16;
+        
+        private final int[] arr;
+        private final int start, end;
+        
+        SortedCheck(int[] arr, int start, int end) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected Boolean compute() {
+            if (end - start <= CHUNK) {
+                return isSorted(arr, start, end);
+            }
+            int mid = (start + end) >>> 1;
+            if (arr[mid - 1] > arr[mid]) {
+                return false;
+            }
+            SortedCheck right = new SortedCheck(arr, mid, end);
+            right.fork();
+            boolean left = new SortedCheck(arr, start, mid).compute();
+            return right.join() && left;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+package bubblesort;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores timing baselines and detects regressions against them. A baseline file is a
+ * versioned TSV with one line per measurement key (algorithm, size, threads, distribution,
+ * JVM version, core count) holding every raw sample, so later runs can be compared with a
+ * rank test rather than by eye. Recording replaces lines with the same key and keeps the rest.
+ *
+ * The file starts with the line "#bubblesort-baseline", a tab and "v1", followed by a
+ * "#settings" line holding the tab-separated threshold=, warmup= and seed= values every
+ * sample was taken with, then the column names and the entries. The samples column is a
+ * comma-separated list of nanosecond timings.
+ *
+ * Usage: BaselineStore record [--file baseline.tsv] [--algorithm name[,name...]]
+ *                             [--sizes n[,n...]] [--threads p[,p...]] [--distribution name[:parameter]]
+ *                             [--threshold n] [--warmup n] [--reps n] [--seed n]
+ *        BaselineStore compare [--file baseline.tsv] [--tolerance percent] [--alpha p]
+ *                              [--warmup n] [--reps n] [--seed n]
+ *
+ * compare re-runs every key of the baseline that matches this JVM and core count with the
+ * settings stored in the file. Recording into a file with other settings, or comparing with
+ * explicit options that differ from them, is refused. Exit status: 0 on success, 1 if any key
+ * is slower by more than the tolerance with Mann-Whitney p below alpha, 2 for an unknown
+ * command or mismatched settings.
+ */
+public class BaselineStore {
+    static final String HEADER = "#bubblesort-baseline\tv1";
+    static final String SETTINGS = "#settings";
+    static final String COLUMNS = "algorithm\tsize\tthreads\tdistribution\tjvm\tcores\tsamples_ns";
+    
+    private static final List<String> DEFAULT_ALGORITHMS =
+        List.of("sequential", "odd-even", "bitonic", "multithreaded", "forkjoin1", "forkjoin2");
+    
+    public static void main(String[] args) throws IOException {
+        Options options = new Options(args);
+        List<String> command = options.getPositional();
+        Path file = Paths.get(options.getString("file", "baseline.tsv"));
+        int repetitions = options.getInt("reps", 15);
+        Settings settings = new Settings(options.getInt("threshold", SortContext.DEFAULT_THRESHOLD),
+            options.getInt("warmup", 3), options.getLong("seed", 42));
+        
+        if (command.isEmpty() || command.get(0).equals("record")) {
+            String distribution = options.getString("distribution", "uniform");
+            try {
+                InputGenerator.parse(distribution);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid --distribution. Using default: uniform");
+                distribution = "uniform";
+            }
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            if (Files.exists(file)) {
+                Baseline existing = read(file);
+                if (!existing.settings.equals(settings)) {
+                    System.err.println(file + " was recorded with " + existing.settings
+                        + ". Record with the same settings or into a new file");
+                    System.exit(2);
+                }
+                entries = existing.entries;
+            }
+            List<Integer> sizes = ScalingSweep.toInts(options.getList("sizes", List.of("1000", "10000")));
+            List<Integer> threadCounts = ScalingSweep.toInts(options.getList("threads", List.of(String.valueOf(cores()))));
+            for (int size : sizes) {
+                for (int threads : threadCounts) {
+                    for (String name : options.getList("algorithm", DEFAULT_ALGORITHMS)) {
+                        Entry entry = new Entry(name, size, threads, distribution, jvm(), cores(), null);
+                        long[] samples = measure(entry, settings, repetitions);
+                        entries.put(entry.key(), entry.withSamples(samples));
+                        System.out.printf("%-45s median %10.3f ms%n", entry.key().replace('\t', ' '),
+                            SampleStatistics.toMillis(new SampleStatistics(samples).median()));
+                    }
+                }
+            }
+            write(file, new Baseline(settings, entries));
+            System.out.println("Wrote " + entries.size() + " baselines to " + file);
+        } else if (command.get(0).equals("compare")) {
+            double tolerance = parseDouble(options.getString("tolerance", "5"), 5, "--tolerance") / 100;
+            double alpha = parseDouble(options.getString("alpha", "0.01"), 0.01, "--alpha");
+            Baseline baseline = read(file);
+            Settings recorded = baseline.settings;
+            if ((options.has("threshold") && settings.threshold != recorded.threshold)
+                    || (options.has("warmup") && settings.warmups != recorded.warmups)
+                    || (options.has("seed") && settings.seed != recorded.seed)) {
+                System.err.println(file + " was recorded with " + recorded + ". Compare with the same settings");
+                System.exit(2);
+            }
+            int regressions = 0, compared = 0;
+            System.out.printf("%-45s %12s %12s %8s %10s  %s%n", "Key", "Base (ms)", "Now (ms)", "Change", "p", "Verdict");
+            for (Entry base : baseline.entries.values()) {
+                if (!base.jvm.equals(jvm()) || base.cores != cores()) {
+                    System.out.printf("%-45s skipped, recorded on JVM %s with %d cores%n",
+                        base.key().replace('\t', ' '), base.jvm, base.cores);
+                    continue;
+                }
+                long[] now = measure(base, recorded, repetitions);
+                double baseMedian = new SampleStatistics(base.samples).median();
+                double nowMedian = new SampleStatistics(now).median();
+                double change = nowMedian / baseMedian - 1;
+                double p = SampleStatistics.mannWhitneyGreaterP(now, base.samples);
+                boolean regressed = change > tolerance && p < alpha;
+                regressions += regressed ? 1 : 0;
+                compared++;
+                System.out.printf("%-45s %12.3f %12.3f %+7.1f%% %10.2g  %s%n", base.key().replace('\t', ' '),
+                    SampleStatistics.toMillis(baseMedian), SampleStatistics.toMillis(nowMedian), 100 * change, p,
+                    regressed ? "REGRESSION" : "ok");
+            }
+            System.out.println(compared + " compared, " + regressions + " regressed");
+            if (regressions > 0) {
+                System.exit(1);
+            }
+        } else {
+            System.err.println("Unknown command: " + command.get(0) + ". Expected record or compare");
+            System.exit(2);
+        }
+    }
+    
+    /**
+     * Measurement settings shared by every entry of a file
+     */
+    static class Settings {
+        final int threshold, warmups;
+        final long seed;
+        
+        Settings(int threshold, int warmups, long seed) {
+            this.threshold = threshold;
+            this.warmups = warmups;
+            this.seed = seed;
+        }
+        
+        static Settings parse(String line) throws IOException {
+            String[] f = line.split("\t");
+            if (f.length != 4 || !f[0].equals(SETTINGS) || !f[1].startsWith("threshold=")
+                    || !f[2].startsWith("warmup=") || !f[3].startsWith("seed=")) {
+                throw new IOException("Malformed settings line: " + line);
+            }
+            try {
+                return new Settings(Integer.parseInt(f[1].substring("threshold=".length())),
+                    Integer.parseInt(f[2].substring("warmup=".length())), Long.parseLong(f[3].substring("seed=".length())));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed settings line: " + line, e);
+            }
+        }
+        
+        String line() {
+            return SETTINGS + "\tthreshold=" + threshold + "\twarmup=" + warmups + "\tseed=" + seed;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Settings s && threshold == s.threshold && warmups == s.warmups && seed == s.seed;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (threshold * 31 + warmups) * 31 + Long.hashCode(seed);
+        }
+        
+        @Override
+        public String toString() {
+            return "--threshold " + threshold + " --warmup " + warmups + " --seed " + seed;
+        }
+    }
+    
+    /**
+     * The contents of a baseline file
+     */
+    static class Baseline {
+        final Settings settings;
+        final Map<String, Entry> entries;
+        
+        Baseline(Settings settings, Map<String, Entry> entries) {
+            this.settings = settings;
+            this.entries = entries;
+        }
+    }
+    
+    /**
+     * One baseline line
+     */
+    static class Entry {
+        final String algorithm;
+        final int size, threads;
+        final String distribution, jvm;
+        final int cores;
+        final long[] samples;
+        
+        Entry(String algorithm, int size, int threads, String distribution, String jvm, int cores, long[] samples) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.threads = threads;
+            this.distribution = distribution;
+            this.jvm = jvm;
+            this.cores = cores;
+            this.samples = samples;
+        }
+        
+        Entry withSamples(long[] newSamples) {
+            return new Entry(algorithm, size, threads, distribution, jvm, cores, newSamples);
+        }
+        
+        String key() {
+            return algorithm + "\t" + size + "\t" + threads + "\t" + distribution + "\t" + jvm + "\t" + cores;
+        }
+    }
+    
+    private static long[] measure(Entry entry, Settings settings, int repetitions) {
+        int[] input = InputGenerator.parse(entry.distribution).generate(entry.size, settings.seed);
+        try (SortContext ctx = new SortContext(entry.threads, settings.threshold)) {
+            SortRunner.Result result = SortRunner.run(entry.algorithm, SortAlgorithms.get(entry.algorithm), input, ctx,
+                settings.warmups, repetitions);
+            if (!result.isCorrect()) {
+                throw new IllegalStateException(entry.algorithm + " produced an unsorted array");
+            }
+            return result.getSamplesNanos();
+        }
+    }
+    
+    static Baseline read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        if (lines.size() < 2 || !lines.get(0).equals(HEADER)) {
+            throw new IOException(file + " is not a version 1 baseline file");
+        }
+        Settings settings = Settings.parse(lines.get(1));
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (String line : lines.subList(2, lines.size())) {
+            if (line.isEmpty() || line.equals(COLUMNS)) continue;
+            String[] f = line.split("\t");
+            if (f.length != 7) {
+                throw new IOException("Malformed baseline line: " + line);
+            }
+            String[] values = f[6].split(",");
+            long[] samples = new long[values.length];
+            Entry entry;
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    samples[i] = Long.parseLong(values[i]);
+                }
+                entry = new Entry(f[0], Integer.parseInt(f[1]), Integer.parseInt(f[2]), f[3], f[4],
+                    Integer.parseInt(f[5]), samples);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed baseline line: " + line, e);
+            }
+            entries.put(entry.key(), entry);
+        }
+        return new Baseline(settings, entries);
+    }
+    
+    static void write(Path file, Baseline baseline) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        lines.add(baseline.settings.line());
+        lines.add(COLUMNS);
+        for (Entry entry : baseline.entries.values()) {
+            StringBuilder samples = new StringBuilder();
+            for (long sample : entry.samples) {
+                if (samples.length() > 0) samples.append(',');
+                samples.append(sample);
+            }
+            lines.add(entry.key() + "\t" + samples);
+        }
+        Files.write(file, lines);
+    }
+    
+    private static String jvm() {
+        return System.getProperty("java.vm.vendor", "unknown").split(" ")[0] + "-" + System.getProperty("java.vm.version");
+    }
+    
+    private static int cores() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+    
+    private static double parseDouble(String value, double defaultValue, String option) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + option + ". Using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package bubblesort;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Sorts many independent arrays on one long-lived SortContext instead of a pool per call.
+ * Small arrays are grouped into batches of roughly equal element count, one task per
+ * batch, and each array gets a sequential kernel chosen by its length. Arrays of at
+ * least largeCutoff elements are rare and sorted one at a time with a parallel algorithm
+ * that uses the whole pool. The context is not owned and stays open.
+ */
+public class BatchSorter {
+    public static final int BUBBLE_CUTOFF = 32; // Up to this length the bubble sort's early exit wins
+    public static final int DEFAULT_LARGE_CUTOFF = 1 << 15;
+    
+    private static final int MAX_BATCH_ELEMENTS = 1 << 14;
+    
+    private final SortContext ctx;
+    private final int largeCutoff;
+    private final SortAlgorithm largeAlgorithm;
+    
+    public BatchSorter(SortContext ctx) {
+        this(ctx, DEFAULT_LARGE_CUTOFF, SortAlgorithms.get("bitonic-parallel"));
+    }
+    
+    public BatchSorter(SortContext ctx, int largeCutoff, SortAlgorithm largeAlgorithm) {
+        if (largeCutoff < 2) {
+            throw new IllegalArgumentException("Large array cutoff must be at least 2: " + largeCutoff);
+        }
+        this.ctx = ctx;
+        this.largeCutoff = largeCutoff;
+        this.largeAlgorithm = largeAlgorithm;
+    }
+    
+    /**
+     * Sorts every array in place and returns once all of them are sorted
+     */
+    public void sortAll(int[][] arrays) {
+        long smallElements = 0;
+        for (int[] arr : arrays) {
+            if (arr.length < largeCutoff) {
+                smallElements += arr.length;
+            }
+        }
+        // Enough batches to balance the workers, but no batch smaller than worth a task
+        long batchElements = Math.max(BUBBLE_CUTOFF,
+            Math.min(MAX_BATCH_ELEMENTS, smallElements / (4L * ctx.getParallelism())));
+        
+        List<ForkJoinTask<?>> batches = new ArrayList<>();
+        List<int[]> batch = new ArrayList<>();
+        long elements = 0;
+        for (int[] arr : arrays) {
+            if (arr.length >= largeCutoff) continue;
+            batch.add(arr);
+            elements += arr.length;
+            if (elements >= batchElements) {
+                batches.add(ctx.getPool().submit(new SortBatch(batch, ctx.getKernels())));
+                batch = new ArrayList<>();
+                elements = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(ctx.getPool().submit(new SortBatch(batch, ctx.getKernels())));
+        }
+        
+        // Large arrays share the pool with the batches already queued
+        for (int[] arr : arrays) {
+            if (arr.length >= largeCutoff) {
+                largeAlgorithm.sort(arr, ctx);
+            }
+        }
+        for (ForkJoinTask<?> task : batches) {
+            task.join();
+        }
+    }
+    
+    /**
+     * Streaming variant: pulls arrays from the source, sorts them in batches of up to
+     * batchElements elements and hands each sorted array to the sink in source order,
+     * on the calling thread. At most twice the parallelism batches are in flight, so
+     * memory stays bounded for unbounded sources.
+     */
+    public void sortAll(Iterator<int[]> source, Consumer<int[]> sink, int batchElements) {
+        if (batchElements < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchElements);
+        }
+        int maxInFlight = 2 * ctx.getParallelism();
+        Deque<PendingBatch> pending = new ArrayDeque<>();
+        List<int[]> batch = new ArrayList<>();
+        long elements = 0;
+        
+        while (source.hasNext()) {
+            int[] arr = source.next();
+            if (arr.length >= largeCutoff) {
+                if (!batch.isEmpty()) {
+                    pending.add(submit(batch));
+                    batch = new ArrayList<>();
+                    elements = 0;
+                }
+                largeAlgorithm.sort(arr, ctx);
+                pending.add(new PendingBatch(List.of(arr), null));
+            } else {
+                batch.add(arr);
+                elements += arr.length;
+                if (elements >= batchElements) {
+                    pending.add(submit(batch));
+                    batch = new ArrayList<>();
+                    elements = 0;
+                }
+            }
+            while (pending.size() > maxInFlight) {
+                pending.poll().deliver(sink);
+            }
+        }
+        if (!batch.isEmpty()) {
+            pending.add(submit(batch));
+        }
+        while (!pending.isEmpty()) {
+            pending.poll().deliver(sink);
+        }
+    }
+    
+    private PendingBatch submit(List<int[]> batch) {
+        return new PendingBatch(batch, ctx.getPool().submit(new SortBatch(batch, ctx.getKernels())));
+    }
+    
+    /**
+     * Sorts a small array on the current thread with the kernel suited to its length
+     */
+    static void sortSmall(int[] arr, CompareExchangeKernels kernels) {
+        if (arr.length <= BUBBLE_CUTOFF) {
+            SequentialBubbleSort.sequentialBubbleSort(arr);
+        } else {
+            BitonicSort.bitonicSort(arr, kernels);
+        }
+    }
+    
+    /**
+     * One task that sorts a group of small arrays sequentially
+     */
+    private static class SortBatch extends RecursiveAction {
+        private final List<int[]> arrays;
+        private final CompareExchangeKernels kernels;
+        
+        SortBatch(List<int[]> arrays, CompareExchangeKernels kernels) {
+            this.arrays = arrays;
+            this.kernels = kernels;
+        }
+        
+        @Override
+        protected void compute() {
+            for (int[] arr : arrays) {
+                sortSmall(arr, kernels);
+            }
+        }
+    }
+    
+    /**
+     * A submitted batch, or an already sorted large array when task is null
+     */
+    private static class PendingBatch {
+        private final List<int[]> arrays;
+        private final ForkJoinTask<?> task;
+        
+        PendingBatch(List<int[]> arrays, ForkJoinTask<?> task) {
+            this.arrays = arrays;
+            this.task = task;
+        }
+        
+        void deliver(Consumer<int[]> sink) {
+            if (task != null) {
+                task.join();
+            }
+            for (int[] arr : arrays) {
+                sink.accept(arr);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package bubblesort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementation of Bitonic Sort algorithm
+ */
+public class BitonicSort {
+    
+    /**
+     * Sorts an array of any length, padding it to the next power of two
+     */
+    public static void bitonicSort(int[] arr) {
+        int bitonicSize = ArrayUtils.nextPowerOfTwo(arr.length);
+        int[] paddedArray = Arrays.copyOf(arr, bitonicSize);
+        for (int i = arr.length; i < bitonicSize; i++) {
+            paddedArray[i] = Integer.MAX_VALUE; // Pad with max values
+        }
+        
+        bitonicSort(paddedArray, 0, paddedArray.length, true);
+        
+        // Get back the original sized array
+        System.arraycopy(paddedArray, 0, arr, 0, arr.length);
+    }
+    
+    /**
+     * Sorts an array of any length with the iterative bitonic network, one full pass per
+     * stage, using the given compare-exchange kernels
+     */
+    public static void bitonicSort(int[] arr, CompareExchangeKernels kernels) {
+        bitonicSort(arr, kernels, null);
+    }
+    
+    /**
+     * Like bitonicSort, padding inside scratch when it holds nextPowerOfTwo(n) ints
+     * instead of allocating a padded copy
+     */
+    public static void bitonicSort(int[] arr, CompareExchangeKernels kernels, int[] scratch) {
+        int bitonicSize = ArrayUtils.nextPowerOfTwo(arr.length);
+        int[] paddedArray = arr;
+        if (bitonicSize != arr.length) {
+            paddedArray = pad(arr, bitonicSize, scratch);
+        }
+        
+        for (int k = 2; k <= bitonicSize; k *= 2) {
+            for (int j = k / 2; j >= 1; j /= 2) {
+                kernels.bitonicStage(paddedArray, 0, bitonicSize, k, j);
+                SortMetrics.phase();
+            }
+        }
+        
+        if (paddedArray != arr) {
+            System.arraycopy(paddedArray, 0, arr, 0, arr.length);
+        }
+    }
+    
+    /**
+     * Sorts the array using bitonic sort algorithm
+     */
+    public static void bitonicSort(int[] arr, int low, int count, boolean dir) {
+        if (count > 1) {
+            int k = count / 2;
+            
+            // Sort in ascending order since dir = true
+            bitonicSort(arr, low, k, true);
+            
+            // Sort in descending order since dir = false
+            bitonicSort(arr, low + k, k, false);
+            
+            // Merge the entire sequence in ascending/descending order
+            bitonicMerge(arr, low, count, dir);
+        }
+    }
+    
+    /**
+     * Merges two bitonic sequences
+     */
+    private static void bitonicMerge(int[] arr, int low, int count, boolean dir) {
+        if (count > 1) {
+            int k = count / 2;
+            int swaps = 0;
+            for (int i = low; i < low + k; i++) {
+                if (dir == (arr[i] > arr[i + k])) {
+                    ArrayUtils.swap(arr, i, i + k);
+                    swaps++;
+                }
+            }
+            SortMetrics.compared(k);
+            SortMetrics.swapped(swaps);
+            bitonicMerge(arr, low, k, dir);
+            bitonicMerge(arr, low + k, k, dir);
+        }
+    }
+    
+    /**
+     * Sorts an array of any length with the iterative bitonic network, running the
+     * independent compare-exchange blocks of every stage in parallel on the pool
+     */
+    public static void parallelBitonicSort(int[] arr, ForkJoinPool pool, int cutoff) {
+        parallelBitonicSort(arr, pool, cutoff, CompareExchangeKernels.scalar());
+    }
+    
+    /**
+     * Parallel bitonic sort with the compare-exchange loops run by the given kernels
+     */
+    public static void parallelBitonicSort(int[] arr, ForkJoinPool pool, int cutoff, CompareExchangeKernels kernels) {
+        parallelBitonicSort(arr, pool, cutoff, kernels, null);
+    }
+    
+    /**
+     * Like parallelBitonicSort, padding inside scratch when it holds nextPowerOfTwo(n) ints
+     */
+    public static void parallelBitonicSort(int[] arr, ForkJoinPool pool, int cutoff, CompareExchangeKernels kernels,
+                                           int[] scratch) {
+        int bitonicSize = ArrayUtils.nextPowerOfTwo(arr.length);
+        if (bitonicSize == arr.length) {
+            parallelBitonicNetwork(arr, bitonicSize, pool, cutoff, kernels);
+            return;
+        }
+        
+        int[] paddedArray = pad(arr, bitonicSize, scratch);
+        parallelBitonicNetwork(paddedArray, bitonicSize, pool, cutoff, kernels);
+        System.arraycopy(paddedArray, 0, arr, 0, arr.length);
+    }
+    
+    /**
+     * Copies arr into the first bitonicSize ints of scratch, or of a new array when scratch
+     * is null or too small, with the tail padded with max values
+     */
+    private static int[] pad(int[] arr, int bitonicSize, int[] scratch) {
+        int[] paddedArray = scratch != null && scratch.length >= bitonicSize ? scratch : new int[bitonicSize];
+        System.arraycopy(arr, 0, paddedArray, 0, arr.length);
+        Arrays.fill(paddedArray, arr.length, bitonicSize, Integer.MAX_VALUE); // Pad with max values
+        return paddedArray;
+    }
+    
+    /**
+     * Runs the bitonic network stage by stage over the first n ints of arr, n a power of two.
+     * Stages whose compare distance fits inside a leaf block are done sequentially per block.
+     */
+    private static void parallelBitonicNetwork(int[] arr, int n, ForkJoinPool pool, int cutoff,
+                                               CompareExchangeKernels kernels) {
+        if (n < 2) return;
+        
+        // Leaf blocks are the largest power of two not above the cutoff
+        int leaf = Math.min(n, Integer.highestOneBit(Math.max(2, cutoff)));
+        
+        // Every stage with k <= leaf stays inside one block: sort the blocks in alternating directions
+        pool.invoke(new BlockTask(arr, 0, n / leaf, leaf, leaf, false, cutoff, kernels));
+        SortMetrics.phase();
+        
+        for (int k = leaf * 2; k <= n; k *= 2) {
+            // Long-distance stages cross block boundaries and are split over pairs
+            for (int j = k / 2; j >= leaf; j /= 2) {
+                pool.invoke(new StageTask(arr, 0, n / 2, k, j, cutoff, kernels));
+                SortMetrics.phase();
+            }
+            // The remaining stages of this merge are independent per block
+            pool.invoke(new BlockTask(arr, 0, n / leaf, leaf, k, true, cutoff, kernels));
+            SortMetrics.phase();
+        }
+    }
+    
+    /**
+     * One stage (k, j) of the network over a range of compare-exchange pair indices
+     */
+    private static class StageTask extends RecursiveAction {
+        private final int[] arr;
+        private final int lo, hi;
+        private final int k, j;
+        private final int cutoff;
+        private final CompareExchangeKernels kernels;
+        
+        StageTask(int[] arr, int lo, int hi, int k, int j, int cutoff, CompareExchangeKernels kernels) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.k = k;
+            this.j = j;
+            this.cutoff = cutoff;
+            this.kernels = kernels;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                long start = SortMetrics.startTimer();
+                compareExchangeRange();
+                SortMetrics.busy(start);
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new StageTask(arr, lo, mid, k, j, cutoff, kernels), new StageTask(arr, mid, hi, k, j, cutoff, kernels));
+            }
+        }
+        
+        private void compareExchangeRange() {
+            int lowMask = j - 1;
+            int p = lo;
+            while (p < hi) {
+                // Pair p compares element i, whose bit j is clear, with i + j.
+                // Runs of j consecutive pairs map to consecutive i with one direction.
+                int runEnd = Math.min(hi, (p | lowMask) + 1);
+                int i = ((p & ~lowMask) << 1) | (p & lowMask);
+                kernels.compareExchangeRun(arr, i, j, runEnd - p, (i & k) == 0);
+                p = runEnd;
+            }
+        }
+    }
+    
+    /**
+     * Sorts or merges a range of aligned leaf blocks sequentially, one block at a time
+     */
+    private static class BlockTask extends RecursiveAction {
+        private final int[] arr;
+        private final int firstBlock, lastBlock;
+        private final int leaf;
+        private final int k;
+        private final boolean merge;
+        private final int cutoff;
+        private final CompareExchangeKernels kernels;
+        
+        BlockTask(int[] arr, int firstBlock, int lastBlock, int leaf, int k, boolean merge, int cutoff,
+                  CompareExchangeKernels kernels) {
+            this.arr = arr;
+            this.firstBlock = firstBlock;
+            this.lastBlock = lastBlock;
+            this.leaf = leaf;
+            this.k = k;
+            this.merge = merge;
+            this.cutoff = cutoff;
+            this.kernels = kernels;
+        }
+        
+        @Override
+        protected void compute() {
+            if (lastBlock - firstBlock == 1 || (long) (lastBlock - firstBlock) * leaf <= cutoff) {
+                long start = SortMetrics.startTimer();
+                for (int b = firstBlock; b < lastBlock; b++) {
+                    int low = b * leaf;
+                    if (merge) {
+                        // The stages of merge k whose partners lie inside this block
+                        for (int j = leaf / 2; j >= 1; j /= 2) {
+                            kernels.bitonicStage(arr, low, low + leaf, k, j);
+                        }
+                    } else {
+                        // Every stage up to k = leaf; directions follow the global network
+                        for (int kk = 2; kk <= leaf; kk *= 2) {
+                            for (int j = kk / 2; j >= 1; j /= 2) {
+                                kernels.bitonicStage(arr, low, low + leaf, kk, j);
+                            }
+                        }
+                    }
+                }
+                SortMetrics.busy(start);
+            } else {
+                int mid = (firstBlock + lastBlock) >>> 1;
+                invokeAll(new BlockTask(arr, firstBlock, mid, leaf, k, merge, cutoff, kernels),
+                    new BlockTask(arr, mid, lastBlock, leaf, k, merge, cutoff, kernels));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package bubblesort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel cocktail-shaker sort. The array is cut into threshold-sized chunks; in every
+ * round each chunk does one forward and one backward bubble sweep, carrying its largest
+ * element to its end and its smallest to its start. Odd rounds shift the chunks by half a
+ * chunk so elements cross the boundaries, and the sort stops after a round with each
+ * offset in which nothing moved.
+ */
+public class CocktailShakerSort {
+    
+    /**
+     * Sorts the array with chunks of threshold elements, split over the pool
+     */
+    public static void parallelCocktailShakerSort(int[] arr, ForkJoinPool pool, int threshold) {
+        int n = arr.length;
+        if (n < 2) return;
+        int chunk = Math.max(2, Math.min(threshold, n));
+        int quietRounds = 0;
+        for (int round = 0; quietRounds < 2; round++) {
+            int offset = (round % 2 == 0) ? 0 : chunk / 2;
+            // Chunk c covers [offset + (c - 1) * chunk, offset + c * chunk) clipped to the array
+            int chunks = (n - offset + chunk - 1) / chunk + (offset > 0 ? 1 : 0);
+            boolean changed = pool.invoke(new ShakeTask(arr, 0, chunks, offset, chunk));
+            quietRounds = changed ? 0 : quietRounds + 1;
+            SortMetrics.phase();
+        }
+    }
+    
+    /**
+     * Shakes chunks [firstChunk, lastChunk) of one round, reporting whether anything moved
+     */
+    private static class ShakeTask extends RecursiveTask<Boolean> {
+        private final int[] arr;
+        private final int firstChunk, lastChunk;
+        private final int offset, chunk;
+        
+        ShakeTask(int[] arr, int firstChunk, int lastChunk, int offset, int chunk) {
+            this.arr = arr;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.offset = offset;
+            this.chunk = chunk;
+        }
+        
+        @Override
+        protected Boolean compute() {
+            if (lastChunk - firstChunk == 1) {
+                long start = SortMetrics.startTimer();
+                int from = Math.max(0, offset + (firstChunk - (offset > 0 ? 1 : 0)) * chunk);
+                int to = Math.min(arr.length, from == 0 && offset > 0 ? offset : from + chunk);
+                boolean changed = shake(arr, from, to);
+                SortMetrics.busy(start);
+                return changed;
+            }
+            int mid = (firstChunk + lastChunk) >>> 1;
+            ShakeTask right = new ShakeTask(arr, mid, lastChunk, offset, chunk);
+            right.fork();
+            boolean changed = new ShakeTask(arr, firstChunk, mid, offset, chunk).compute();
+            return right.join() | changed;
+        }
+    }
+    
+    /**
+     * One forward and one backward bubble sweep over arr[from, to)
+     */
+    private static boolean shake(int[] arr, int from, int to) {
+        int swaps = 0;
+        for (int i = from; i + 1 < to; i++) {
+            if (arr[i] > arr[i + 1]) {
+                ArrayUtils.swap(arr, i, i + 1);
+                swaps++;
+            }
+        }
+        // The last element now holds the chunk's maximum
+        for (int i = to - 3; i >= from; i--) {
+            if (arr[i] > arr[i + 1]) {
+                ArrayUtils.swap(arr, i, i + 1);
+                swaps++;
+            }
+        }
+        SortMetrics.compared(Math.max(0, 2 * (to - from) - 3));
+        SortMetrics.swapped(swaps);
+        return swaps > 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package bubblesort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel comb sort. Each gap g runs as two odd-even style phases: pairs (i, i + g) with
+ * i mod 2g below g, then the rest. Pairs within one phase never share an element, so a
+ * phase is split across the pool like a Fork/Join odd-even phase. Gaps shrink by 1.3,
+ * which leaves only short displacements, and the persistent-worker odd-even sort with
+ * early exit finishes at gap 1.
+ */
+public class CombSort {
+    private static final double SHRINK = 1.3;
+    
+    /**
+     * Sorts the array; phases split into tasks of at most threshold pairs, and the final
+     * odd-even sort runs on numWorkers workers
+     */
+    public static void parallelCombSort(int[] arr, ForkJoinPool pool, int numWorkers, int threshold,
+                                        CompareExchangeKernels kernels) {
+        int n = arr.length;
+        for (int gap = (int) (n / SHRINK); gap > 1; gap = (int) (gap / SHRINK)) {
+            for (int parity = 0; parity < 2; parity++) {
+                int pairs = phasePairs(n, gap, parity);
+                if (pairs > 0) {
+                    pool.invoke(new GapPhaseTask(arr, 0, pairs, gap, parity, threshold, kernels));
+                    SortMetrics.phase();
+                }
+            }
+        }
+        ForkJoinBubbleSort1.persistentWorkerBubbleSort(arr, pool, numWorkers, threshold);
+    }
+    
+    /**
+     * Number of pairs (i, i + gap) with (i / gap) % 2 == parity
+     */
+    static int phasePairs(int n, int gap, int parity) {
+        int all = n - gap;
+        if (all <= 0) return 0;
+        int period = 2 * gap;
+        return (all / period) * gap + Math.max(0, Math.min(gap, all % period - parity * gap));
+    }
+    
+    /**
+     * One gap phase over the phase's pairs with flat index in [lo, hi). Flat index p is
+     * pair i = (2 * (p / gap) + parity) * gap + p % gap.
+     */
+    private static class GapPhaseTask extends RecursiveAction {
+        private final int[] arr;
+        private final int lo, hi;
+        private final int gap, parity;
+        private final int threshold;
+        private final CompareExchangeKernels kernels;
+        
+        GapPhaseTask(int[] arr, int lo, int hi, int gap, int parity, int threshold, CompareExchangeKernels kernels) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.gap = gap;
+            this.parity = parity;
+            this.threshold = threshold;
+            this.kernels = kernels;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                long start = SortMetrics.startTimer();
+                compareExchangeRange();
+                SortMetrics.busy(start);
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new GapPhaseTask(arr, lo, mid, gap, parity, threshold, kernels),
+                    new GapPhaseTask(arr, mid, hi, gap, parity, threshold, kernels));
+            }
+        }
+        
+        private void compareExchangeRange() {
+            int p = lo;
+            while (p < hi) {
+                // Up to gap consecutive flat indices map to consecutive pairs
+                int block = p / gap, offset = p % gap;
+                int runEnd = Math.min(hi, (block + 1) * gap);
+                int i = (2 * block + parity) * gap + offset;
+                kernels.compareExchangeRun(arr, i, gap, runEnd - p, true);
+                p = runEnd;
+            }
+        }
+    }
+}
\ No newline at end of file
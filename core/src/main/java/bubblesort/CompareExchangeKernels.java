@@ -0,0 +1,89 @@
+package bubblesort;
+
+/**
+ * The compare-exchange inner loops of the odd-even and bitonic sorts, behind an interface
+ * so a SIMD implementation can replace the scalar loops.
+ */
+public interface CompareExchangeKernels {
+    
+    /**
+     * Short description for reports, e.g. "scalar" or "vector-256 (8 lanes)"
+     */
+    String name();
+    
+    /**
+     * Compare-exchanges the adjacent pairs (i, i + 1) for i = first, first + 2, ... while
+     * i + 1 < to. Returns true if any pair was swapped.
+     */
+    boolean oddEvenPairs(int[] arr, int first, int to);
+    
+    /**
+     * Compare-exchanges arr[i + m] with arr[i + j + m] for m in [0, count), count <= j,
+     * putting the smaller element first when ascending and last otherwise.
+     */
+    void compareExchangeRun(int[] arr, int i, int j, int count, boolean ascending);
+    
+    /**
+     * Runs stage (k, j) of the bitonic network over arr[from, to): every i with bit j
+     * clear is compare-exchanged with i + j, ascending where bit k of i is clear.
+     * from and to must be multiples of 2j.
+     */
+    void bitonicStage(int[] arr, int from, int to, int k, int j);
+    
+    /**
+     * The plain scalar loops
+     */
+    static CompareExchangeKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+    
+    /**
+     * Vector API kernels for the platform's preferred vector size, or the scalar kernels
+     * if the jdk.incubator.vector module is not available in this JVM
+     */
+    static CompareExchangeKernels vectorized() {
+        return vectorized(0);
+    }
+    
+    /**
+     * Vector API kernels for the given vector size in bits (0 for the preferred size), or
+     * the scalar kernels if the jdk.incubator.vector module is not available in this JVM.
+     * Run the JVM with --add-modules jdk.incubator.vector to enable them.
+     */
+    static CompareExchangeKernels vectorized(int bits) {
+        if (!vectorModuleAvailable()) {
+            return scalar();
+        }
+        try {
+            // Loaded reflectively so nothing links against the incubator module unless it is present
+            return (CompareExchangeKernels) Class.forName("bubblesort.VectorKernels")
+                .getDeclaredConstructor(int.class)
+                .newInstance(bits);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return scalar();
+        }
+    }
+    
+    /**
+     * Kernels by name: "scalar", "vector" (preferred size) or "vector-BITS", e.g. "vector-256"
+     */
+    static CompareExchangeKernels named(String name) {
+        if (name.equals("scalar")) {
+            return scalar();
+        }
+        if (name.equals("vector")) {
+            return vectorized();
+        }
+        if (name.startsWith("vector-")) {
+            return vectorized(Integer.parseInt(name.substring("vector-".length())));
+        }
+        throw new IllegalArgumentException("Unknown kernels: " + name);
+    }
+    
+    /**
+     * Whether the JVM was started with the jdk.incubator.vector module
+     */
+    static boolean vectorModuleAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,429 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+
+// Generated by core/generate-primitive-sorts.sh from src/main/templates/PrimitiveSorts.java.template.
+// Edit the template and regenerate instead of editing this file.
+
+/**
+ * The sort implementations specialized for double[] keys, without boxing.
+ * Ordering follows Double.compare: -0.0 sorts before 0.0 and NaN after every other value.
+ */
+public final class DoubleSorts {
+    
+    private DoubleSorts() {
+    }
+    
+    /**
+     * The key ordering: true if a sorts after b
+     */
+    private static boolean gt(double a, double b) {
+        return Double.compare(a, b) > 0;
+    }
+    
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+    
+    /**
+     * Standard sequential bubble sort implementation
+     */
+    public static void sequentialBubbleSort(double[] arr) {
+        int n = arr.length;
+        for (int i = 0; i < n - 1; i++) {
+            boolean swapped = false;
+            for (int j = 0; j < n - i - 1; j++) {
+                if (gt(arr[j], arr[j + 1])) {
+                    swap(arr, j, j + 1);
+                    swapped = true;
+                }
+            }
+            if (!swapped) break; // Array is sorted
+        }
+    }
+    
+    /**
+     * Implements the odd-even sort algorithm
+     */
+    public static void oddEvenSort(double[] arr) {
+        int n = arr.length;
+        boolean sorted = false;
+        
+        while (!sorted) {
+            sorted = true;
+            
+            // Odd phase
+            for (int i = 1; i < n - 1; i += 2) {
+                if (gt(arr[i], arr[i + 1])) {
+                    swap(arr, i, i + 1);
+                    sorted = false;
+                }
+            }
+            
+            // Even phase
+            for (int i = 0; i < n - 1; i += 2) {
+                if (gt(arr[i], arr[i + 1])) {
+                    swap(arr, i, i + 1);
+                    sorted = false;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Bitonic sort of an array of any length, padding it to the next power of two
+     */
+    public static void bitonicSort(double[] arr) {
+        int bitonicSize = ArrayUtils.nextPowerOfTwo(arr.length);
+        double[] paddedArray = Arrays.copyOf(arr, bitonicSize);
+        Arrays.fill(paddedArray, arr.length, bitonicSize, Double.NaN); // Pad with the greatest key
+        
+        bitonicSort(paddedArray, 0, paddedArray.length, true);
+        
+        System.arraycopy(paddedArray, 0, arr, 0, arr.length);
+    }
+    
+    private static void bitonicSort(double[] arr, int low, int count, boolean dir) {
+        if (count > 1) {
+            int k = count / 2;
+            bitonicSort(arr, low, k, true);
+            bitonicSort(arr, low + k, k, false);
+            bitonicMerge(arr, low, count, dir);
+        }
+    }
+    
+    private static void bitonicMerge(double[] arr, int low, int count, boolean dir) {
+        if (count > 1) {
+            int k = count / 2;
+            for (int i = low; i < low + k; i++) {
+                if (dir == gt(arr[i], arr[i + k])) {
+                    swap(arr, i, i + k);
+                }
+            }
+            bitonicMerge(arr, low, k, dir);
+            bitonicMerge(arr, low + k, k, dir);
+        }
+    }
+    
+    /**
+     * Iterative bitonic network with the compare-exchange blocks of every stage run in
+     * parallel; see BitonicSort.parallelBitonicSort
+     */
+    public static void parallelBitonicSort(double[] arr, ForkJoinPool pool, int cutoff) {
+        int bitonicSize = ArrayUtils.nextPowerOfTwo(arr.length);
+        double[] paddedArray = arr;
+        if (bitonicSize != arr.length) {
+            paddedArray = Arrays.copyOf(arr, bitonicSize);
+            Arrays.fill(paddedArray, arr.length, bitonicSize, Double.NaN); // Pad with the greatest key
+        }
+        
+        int n = paddedArray.length;
+        if (n >= 2) {
+            int leaf = Math.min(n, Integer.highestOneBit(Math.max(2, cutoff)));
+            pool.invoke(new BitonicBlockTask(paddedArray, 0, n / leaf, leaf, leaf, false, cutoff));
+            for (int k = leaf * 2; k <= n; k *= 2) {
+                for (int j = k / 2; j >= leaf; j /= 2) {
+                    pool.invoke(new BitonicStageTask(paddedArray, 0, n / 2, k, j, cutoff));
+                }
+                pool.invoke(new BitonicBlockTask(paddedArray, 0, n / leaf, leaf, k, true, cutoff));
+            }
+        }
+        
+        if (paddedArray != arr) {
+            System.arraycopy(paddedArray, 0, arr, 0, arr.length);
+        }
+    }
+    
+    private static class BitonicStageTask extends RecursiveAction {
+        private final double[] arr;
+        private final int lo, hi;
+        private final int k, j;
+        private final int cutoff;
+        
+        BitonicStageTask(double[] arr, int lo, int hi, int k, int j, int cutoff) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.k = k;
+            this.j = j;
+            this.cutoff = cutoff;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo > cutoff) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new BitonicStageTask(arr, lo, mid, k, j, cutoff),
+                    new BitonicStageTask(arr, mid, hi, k, j, cutoff));
+                return;
+            }
+            int lowMask = j - 1;
+            int p = lo;
+            while (p < hi) {
+                int runEnd = Math.min(hi, (p | lowMask) + 1);
+                int i = ((p & ~lowMask) << 1) | (p & lowMask);
+                int end = i + (runEnd - p);
+                boolean dir = (i & k) == 0;
+                for (; i < end; i++) {
+                    if (dir == gt(arr[i], arr[i + j])) {
+                        swap(arr, i, i + j);
+                    }
+                }
+                p = runEnd;
+            }
+        }
+    }
+    
+    private static class BitonicBlockTask extends RecursiveAction {
+        private final double[] arr;
+        private final int firstBlock, lastBlock;
+        private final int leaf;
+        private final int k;
+        private final boolean merge;
+        private final int cutoff;
+        
+        BitonicBlockTask(double[] arr, int firstBlock, int lastBlock, int leaf, int k, boolean merge, int cutoff) {
+            this.arr = arr;
+            this.firstBlock = firstBlock;
+            this.lastBlock = lastBlock;
+            this.leaf = leaf;
+            this.k = k;
+            this.merge = merge;
+            this.cutoff = cutoff;
+        }
+        
+        @Override
+        protected void compute() {
+            if (lastBlock - firstBlock == 1 || (long) (lastBlock - firstBlock) * leaf <= cutoff) {
+                for (int b = firstBlock; b < lastBlock; b++) {
+                    int low = b * leaf;
+                    boolean dir = (low & k) == 0;
+                    if (merge) {
+                        bitonicMerge(arr, low, leaf, dir);
+                    } else {
+                        bitonicSort(arr, low, leaf, dir);
+                    }
+                }
+            } else {
+                int mid = (firstBlock + lastBlock) >>> 1;
+                invokeAll(new BitonicBlockTask(arr, firstBlock, mid, leaf, k, merge, cutoff),
+                    new BitonicBlockTask(arr, mid, lastBlock, leaf, k, merge, cutoff));
+            }
+        }
+    }
+    
+    /**
+     * Fork/Join odd-even transposition sort (Implementation 1), one task tree per phase
+     */
+    public static void parallelBubbleSort(double[] arr, ForkJoinPool pool, int threshold) {
+        int n = arr.length;
+        for (int phase = 0; phase < n; phase++) {
+            pool.invoke(new PhaseTask(arr, 0, n - 1, phase % 2 == 0, threshold));
+        }
+    }
+    
+    private static class PhaseTask extends RecursiveAction {
+        private final double[] arr;
+        private final int start, end;
+        private final boolean isPhaseEven;
+        private final int threshold;
+        
+        PhaseTask(double[] arr, int start, int end, boolean isPhaseEven, int threshold) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+            this.isPhaseEven = isPhaseEven;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - start + 1 <= threshold) {
+                int startIndex = isPhaseEven ? start : start + 1;
+                for (int i = startIndex; i < end; i += 2) {
+                    if (gt(arr[i], arr[i + 1])) {
+                        swap(arr, i, i + 1);
+                    }
+                }
+            } else {
+                int mid = (start + end) / 2;
+                invokeAll(new PhaseTask(arr, start, mid, isPhaseEven, threshold),
+                    new PhaseTask(arr, mid + 1, end, isPhaseEven, threshold));
+                if (mid > start && mid < end && gt(arr[mid], arr[mid + 1])) {
+                    swap(arr, mid, mid + 1);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Fork/Join merge sort with bubble-sorted leaves (Implementation 2), merging
+     * between the array and one auxiliary buffer; see ForkJoinBubbleSort2.pingPongBubbleSort
+     */
+    public static void pingPongBubbleSort(double[] arr, ForkJoinPool pool, int threshold) {
+        double[] aux = new double[arr.length];
+        pool.invoke(new PingPongTask(arr, aux, 0, arr.length, false, threshold));
+    }
+    
+    private static class PingPongTask extends RecursiveAction {
+        private final double[] array;
+        private final double[] aux;
+        private final int start, end;
+        private final boolean intoAux;
+        private final int threshold;
+        
+        PingPongTask(double[] array, double[] aux, int start, int end, boolean intoAux, int threshold) {
+            this.array = array;
+            this.aux = aux;
+            this.start = start;
+            this.end = end;
+            this.intoAux = intoAux;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            int length = end - start;
+            double[] target = intoAux ? aux : array;
+            
+            if (length <= threshold) {
+                if (intoAux) {
+                    System.arraycopy(array, start, aux, start, length);
+                }
+                bubbleSortRange(target, start, end);
+            } else {
+                int mid = start + length / 2;
+                invokeAll(new PingPongTask(array, aux, start, mid, !intoAux, threshold),
+                    new PingPongTask(array, aux, mid, end, !intoAux, threshold));
+                double[] src = intoAux ? array : aux;
+                mergeRange(src, target, start, mid, end, start, end);
+            }
+        }
+    }
+    
+    /**
+     * Sections bubble-sorted on the executor, then merged level by level with each merge
+     * split across threads by co-ranking; see MultithreadedBubbleSort
+     */
+    public static void multithreadedBubbleSort(double[] arr, ExecutorService executor, int numThreads)
+            throws InterruptedException {
+        int n = arr.length;
+        if (n <= 1) return;
+        if (n < numThreads * 10) {
+            sequentialBubbleSort(arr);
+            return;
+        }
+        
+        int sectionSize = n / numThreads;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            final int start = i * sectionSize;
+            final int end = (i < numThreads - 1) ? (i + 1) * sectionSize : n;
+            tasks.add(() -> {
+                bubbleSortRange(arr, start, end);
+                return null;
+            });
+        }
+        runAll(executor, tasks);
+        
+        double[] src = arr;
+        double[] dst = new double[n];
+        for (int currentSize = sectionSize; currentSize < n; currentSize *= 2) {
+            tasks.clear();
+            for (int i = 0; i < n; i += currentSize * 2) {
+                final int start = i;
+                final int middle = Math.min(i + currentSize, n);
+                final int end = Math.min(i + 2 * currentSize, n);
+                final double[] from = src, to = dst;
+                int parts = (int) Math.max(1, Math.min(end - start, (long) numThreads * (end - start) / n));
+                for (int p = 0; p < parts; p++) {
+                    final int outStart = start + (int) ((long) (end - start) * p / parts);
+                    final int outEnd = start + (int) ((long) (end - start) * (p + 1) / parts);
+                    tasks.add(() -> {
+                        mergeRange(from, to, start, middle, end, outStart, outEnd);
+                        return null;
+                    });
+                }
+            }
+            runAll(executor, tasks);
+            
+            double[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+    
+    private static void runAll(ExecutorService executor, List<Callable<Void>> tasks) throws InterruptedException {
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+    
+    /**
+     * Sequential bubble sort of arr[start, end)
+     */
+    private static void bubbleSortRange(double[] arr, int start, int end) {
+        for (int i = start; i < end - 1; i++) {
+            for (int j = start; j < end - (i - start) - 1; j++) {
+                if (gt(arr[j], arr[j + 1])) {
+                    swap(arr, j, j + 1);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Writes output positions [outStart, outEnd) of the stable merge of the sorted runs
+     * src[start, middle) and src[middle, end) into dst
+     */
+    private static void mergeRange(double[] src, double[] dst, int start, int middle, int end,
+                                   int outStart, int outEnd) {
+        int leftLength = middle - start, rightLength = end - middle;
+        int i = start + coRank(src, start, leftLength, middle, rightLength, outStart - start);
+        int j = middle + (outStart - start) - (i - start);
+        int iEnd = start + coRank(src, start, leftLength, middle, rightLength, outEnd - start);
+        int jEnd = middle + (outEnd - start) - (iEnd - start);
+        
+        int k = outStart;
+        while (i < iEnd && j < jEnd) {
+            dst[k++] = gt(src[i], src[j]) ? src[j++] : src[i++];
+        }
+        while (i < iEnd) dst[k++] = src[i++];
+        while (j < jEnd) dst[k++] = src[j++];
+    }
+    
+    private static int coRank(double[] src, int left, int leftLength, int right, int rightLength, int k) {
+        int lo = Math.max(0, k - rightLength);
+        int hi = Math.min(k, leftLength);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            if (gt(src[left + i], src[right + k - i - 1])) {
+                hi = i;
+            } else {
+                lo = i + 1;
+            }
+        }
+        return lo;
+    }
+}
\ No newline at end of file
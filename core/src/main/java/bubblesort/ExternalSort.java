@@ -0,0 +1,385 @@
+package bubblesort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Out-of-core sort for binary files of little-endian ints that may be larger than the heap.
+ * The input is read in memory-mapped chunks, each chunk is sorted in memory by one of the
+ * registered algorithms and written as a sorted run, and the runs are then k-way merged
+ * with large sequential buffers. Memory use is bounded by the budget, not the file size.
+ *
+ * Usage: ExternalSort input output [--budget-mb n] [--algorithm name] [--threads n]
+ *                     [--threshold n] [--temp-dir dir] [--verify]
+ *        ExternalSort --generate count output [--seed n]
+ *
+ * --verify streams both files after the sort and checks that the output is ascending and
+ * has the same multiset fingerprint as the input, without holding either in memory.
+ */
+public class ExternalSort {
+    private static final int MIN_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_CHUNK_INTS = Integer.MAX_VALUE / 4;
+    
+    public static void main(String[] args) throws IOException {
+        Options options = new Options(args);
+        List<String> files = options.getPositional();
+        
+        if (options.has("generate")) {
+            long count = options.getLong("generate", 0);
+            Path output = Paths.get(files.get(0));
+            generate(output, count, options.getLong("seed", 42));
+            System.out.println("Wrote " + count + " ints to " + output);
+            return;
+        }
+        if (files.size() != 2) {
+            System.err.println("Usage: ExternalSort input output [--budget-mb n] [--algorithm name] [--threads n]");
+            System.exit(2);
+        }
+        
+        Path input = Paths.get(files.get(0));
+        Path output = Paths.get(files.get(1));
+        long budget = options.getLong("budget-mb", 256) * 1024 * 1024;
+        String algorithm = options.getString("algorithm", "forkjoin2-pingpong");
+        int numThreads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        int threshold = options.getInt("threshold", SortContext.DEFAULT_THRESHOLD);
+        Path tempDir = Paths.get(options.getString("temp-dir", System.getProperty("java.io.tmpdir")));
+        
+        System.out.println("External sort of " + input + " (" + Files.size(input) / Integer.BYTES + " ints)");
+        System.out.println("Memory budget: " + budget / (1024 * 1024) + " MB, algorithm: " + algorithm
+            + ", threads: " + numThreads);
+        
+        long startTime = System.nanoTime();
+        try (SortContext ctx = new SortContext(numThreads, threshold)) {
+            sort(input, output, budget, SortAlgorithms.get(algorithm), ctx, tempDir);
+        }
+        long endTime = System.nanoTime();
+        
+        System.out.println("Time taken: " + (endTime - startTime) / 1_000_000_000.0 + " seconds");
+        
+        if (options.has("verify")) {
+            SortVerifier.Fingerprint expected = fingerprintFile(input, false);
+            SortVerifier.Fingerprint actual = fingerprintFile(output, true);
+            boolean correct = actual != null && actual.equals(expected);
+            System.out.println("Verified: " + correct);
+            if (!correct) {
+                System.exit(1);
+            }
+        }
+    }
+    
+    /**
+     * Fingerprints a file of ints block by block, or returns null if checkOrder is set and
+     * the file is not ascending
+     */
+    static SortVerifier.Fingerprint fingerprintFile(Path path, boolean checkOrder) throws IOException {
+        SortVerifier.Fingerprint fingerprint = SortVerifier.Fingerprint.EMPTY;
+        int[] block = new int[1 << 16];
+        boolean first = true;
+        int last = 0;
+        try (RunReader reader = new RunReader(path, 1 << 20)) {
+            while (reader.hasNext()) {
+                int n = 0;
+                while (n < block.length && reader.hasNext()) {
+                    block[n++] = reader.next();
+                }
+                if (checkOrder && (!ArrayUtils.isSorted(block, 0, n) || (!first && last > block[0]))) {
+                    return null;
+                }
+                fingerprint = fingerprint.combine(SortVerifier.fingerprint(block, 0, n));
+                first = false;
+                last = block[n - 1];
+            }
+        }
+        return fingerprint;
+    }
+    
+    /**
+     * Sorts the ints in input into output using at most roughly budgetBytes of memory
+     */
+    public static void sort(Path input, Path output, long budgetBytes, SortAlgorithm algorithm,
+                            SortContext ctx, Path tempDir) throws IOException {
+        long totalInts;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException(input + " is not a whole number of ints (" + size + " bytes)");
+            }
+            totalInts = size / Integer.BYTES;
+        }
+        
+        // Half the budget holds the chunk, the rest is left for the in-memory sort's scratch space
+        int chunkInts = (int) Math.max(1024, Math.min(MAX_CHUNK_INTS, budgetBytes / 2 / Integer.BYTES));
+        if (totalInts == 0) {
+            new RunWriter(output, MIN_BUFFER_BYTES).close(); // Empty input, empty output
+            return;
+        }
+        if (totalInts <= chunkInts) {
+            sortChunks(input, output, totalInts, chunkInts, algorithm, ctx, null);
+            return;
+        }
+        
+        Path workDir = Files.createTempDirectory(tempDir, "extsort");
+        try {
+            List<Path> runs = new ArrayList<>();
+            sortChunks(input, output, totalInts, chunkInts, algorithm, ctx, new RunFiles(workDir, runs));
+            mergeRuns(runs, output, budgetBytes, workDir);
+        } finally {
+            try (var leftovers = Files.list(workDir)) {
+                for (Path path : (Iterable<Path>) leftovers::iterator) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+    
+    /**
+     * Names the sorted run files as they are created
+     */
+    private static class RunFiles {
+        private final Path dir;
+        private final List<Path> runs;
+        
+        RunFiles(Path dir, List<Path> runs) {
+            this.dir = dir;
+            this.runs = runs;
+        }
+        
+        Path next() {
+            Path run = dir.resolve("run-" + runs.size() + ".bin");
+            runs.add(run);
+            return run;
+        }
+    }
+    
+    /**
+     * Maps the input chunk by chunk, sorts each chunk in memory and writes it as a run.
+     * With no run files the single chunk is written straight to the output.
+     */
+    private static void sortChunks(Path input, Path output, long totalInts, int chunkInts,
+                                   SortAlgorithm algorithm, SortContext ctx, RunFiles runFiles) throws IOException {
+        int[] chunk = null;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            for (long offset = 0; offset < totalInts; offset += chunkInts) {
+                int count = (int) Math.min(chunkInts, totalInts - offset);
+                if (chunk == null || chunk.length != count) {
+                    chunk = new int[count];
+                }
+                
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, offset * Integer.BYTES,
+                    (long) count * Integer.BYTES);
+                mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(chunk);
+                
+                algorithm.sort(chunk, ctx);
+                
+                try (RunWriter writer = new RunWriter(runFiles == null ? output : runFiles.next(), 1 << 20)) {
+                    writer.write(chunk, 0, count);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Merges the runs into the output, in several passes if the budget cannot give every
+     * run a buffer of at least MIN_BUFFER_BYTES at once
+     */
+    private static void mergeRuns(List<Path> runs, Path output, long budgetBytes, Path workDir) throws IOException {
+        int maxFanIn = (int) Math.max(2, Math.min(1024, budgetBytes / MIN_BUFFER_BYTES - 1));
+        int pass = 0;
+        while (runs.size() > maxFanIn) {
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += maxFanIn) {
+                List<Path> group = runs.subList(i, Math.min(runs.size(), i + maxFanIn));
+                Path target = workDir.resolve("pass-" + pass + "-" + merged.size() + ".bin");
+                merge(group, target, budgetBytes);
+                for (Path run : group) {
+                    Files.delete(run);
+                }
+                merged.add(target);
+            }
+            runs = merged;
+            pass++;
+        }
+        merge(runs, output, budgetBytes);
+    }
+    
+    /**
+     * K-way merge of sorted runs through a binary min-heap of run indices
+     */
+    private static void merge(List<Path> runs, Path target, long budgetBytes) throws IOException {
+        int k = runs.size();
+        int bufferBytes = (int) Math.max(MIN_BUFFER_BYTES, Math.min(1 << 26, budgetBytes / (k + 1)));
+        bufferBytes -= bufferBytes % Integer.BYTES;
+        
+        RunReader[] readers = new RunReader[k];
+        try (RunWriter writer = new RunWriter(target, bufferBytes)) {
+            int[] heap = new int[k];
+            int[] heads = new int[k];
+            int size = 0;
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferBytes);
+                if (readers[i].hasNext()) {
+                    heads[i] = readers[i].next();
+                    heap[size++] = i;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heads, size, i);
+            }
+            
+            while (size > 0) {
+                int run = heap[0];
+                writer.write(heads[run]);
+                if (readers[run].hasNext()) {
+                    heads[run] = readers[run].next();
+                } else {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, heads, size, 0);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+    
+    private static void siftDown(int[] heap, int[] heads, int size, int i) {
+        int run = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) {
+                child++;
+            }
+            if (heads[heap[child]] >= heads[run]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+    
+    /**
+     * Sequential reader of a run through one large direct buffer
+     */
+    private static class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+        private boolean eof;
+        
+        RunReader(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.bytes = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.ints = bytes.asIntBuffer();
+            ints.limit(0);
+        }
+        
+        boolean hasNext() throws IOException {
+            if (ints.hasRemaining()) return true;
+            if (eof) return false;
+            
+            bytes.clear();
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes) < 0) {
+                    eof = true;
+                    break;
+                }
+            }
+            ints.clear();
+            ints.limit(bytes.position() / Integer.BYTES);
+            return ints.hasRemaining();
+        }
+        
+        int next() {
+            return ints.get();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Sequential writer of little-endian ints through one large direct buffer
+     */
+    private static class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+        
+        RunWriter(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            this.bytes = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.ints = bytes.asIntBuffer();
+        }
+        
+        void write(int value) throws IOException {
+            if (!ints.hasRemaining()) {
+                flush();
+            }
+            ints.put(value);
+        }
+        
+        void write(int[] values, int from, int to) throws IOException {
+            while (from < to) {
+                if (!ints.hasRemaining()) {
+                    flush();
+                }
+                int count = Math.min(to - from, ints.remaining());
+                ints.put(values, from, count);
+                from += count;
+            }
+        }
+        
+        private void flush() throws IOException {
+            bytes.position(0).limit(ints.position() * Integer.BYTES);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+            ints.clear();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+    
+    /**
+     * Writes count random ints in [0, 1,000,000) to a file, for trying out the sort
+     */
+    public static void generate(Path output, long count, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] block = new int[1 << 16];
+        try (RunWriter writer = new RunWriter(output, 1 << 20)) {
+            for (long written = 0; written < count; written += block.length) {
+                int n = (int) Math.min(block.length, count - written);
+                for (int i = 0; i < n; i++) {
+                    block[i] = random.nextInt(1000000);
+                }
+                writer.write(block, 0, n);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementation of Fork/Join Bubble Sort (Implementation 1)
+ */
+public class ForkJoinBubbleSort1 {
+    /**
+     * RecursiveAction for Fork/Join bubble sort implementation
+     */
+    static class ParallelBubbleSort extends RecursiveAction {
+        private int[] arr;
+        private int start, end;
+        private boolean isPhaseEven;
+        private int threshold;
+        private CompareExchangeKernels kernels;
+        
+        public ParallelBubbleSort(int[] arr, int start, int end, boolean isPhaseEven, int threshold,
+                                  CompareExchangeKernels kernels) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+            this.isPhaseEven = isPhaseEven;
+            this.threshold = threshold;
+            this.kernels = kernels;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - start + 1 <= threshold) {
+                bubbleSortSegment();
+            } else {
+                int mid = (start + end) / 2;
+                ParallelBubbleSort leftTask = new ParallelBubbleSort(arr, start, mid, isPhaseEven, threshold, kernels);
+                ParallelBubbleSort rightTask = new ParallelBubbleSort(arr, mid + 1, end, isPhaseEven, threshold, kernels);
+                invokeAll(leftTask, rightTask);
+                
+                if (mid > start && mid < end) {
+                    handleBoundary(mid);
+                }
+            }
+        }
+        
+        private void bubbleSortSegment() {
+            int startIndex = isPhaseEven ? start : start + 1;
+            
+            long startTime = SortMetrics.startTimer();
+            kernels.oddEvenPairs(arr, startIndex, end + 1);
+            SortMetrics.busy(startTime);
+        }
+        
+        private void handleBoundary(int mid) {
+            SortMetrics.compared(1);
+            if (arr[mid] > arr[mid + 1]) {
+                ArrayUtils.swap(arr, mid, mid + 1);
+                SortMetrics.swapped(1);
+            }
+        }
+    }
+    
+    /**
+     * Performs parallel bubble sort using the Fork/Join framework
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool) {
+        parallelBubbleSort(arr, pool, SortContext.DEFAULT_THRESHOLD);
+    }
+    
+    /**
+     * Performs parallel bubble sort with the given segment size below which tasks stop splitting
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool, int threshold) {
+        parallelBubbleSort(arr, pool, threshold, CompareExchangeKernels.scalar());
+    }
+    
+    /**
+     * Performs parallel bubble sort with the segments' compare-exchange loops run by the given kernels
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool, int threshold, CompareExchangeKernels kernels) {
+        int n = arr.length;
+        
+        for (int phase = 0; phase < n; phase++) {
+            boolean isPhaseEven = (phase % 2 == 0);
+            pool.invoke(new ParallelBubbleSort(arr, 0, arr.length - 1, isPhaseEven, threshold, kernels));
+            SortMetrics.phase();
+        }
+    }
+    
+    /**
+     * Performs odd-even transposition sort with a fixed set of workers that each own a
+     * contiguous chunk for the whole sort. Workers meet at a Phaser after every phase
+     * instead of building a new task tree per phase, and the sort stops after the first
+     * even+odd round in which no worker swapped anything.
+     */
+    public static void persistentWorkerBubbleSort(int[] arr, ForkJoinPool pool, int numWorkers, int minChunk) {
+        int pairs = arr.length - 1; // Left indices of the compare-exchange pairs
+        if (pairs < 1) return;
+        int workers = Math.max(1, Math.min(numWorkers, pairs / Math.max(1, minChunk)));
+        
+        PaddedFlag swapped = new PaddedFlag();
+        Phaser phaser = new Phaser(workers) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                SortMetrics.phase();
+                if (phase % 2 == 0) {
+                    return false; // End of the even phase, the round is not over
+                }
+                // End of a round: stop if nobody swapped, otherwise start a fresh round
+                boolean again = swapped.get();
+                swapped.set(false);
+                return !again;
+            }
+        };
+        
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int lo = (int) ((long) pairs * w / workers);
+            int hi = (int) ((long) pairs * (w + 1) / workers);
+            tasks.add(pool.submit(new PhaseWorker(arr, lo, hi, phaser, swapped)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+    
+    /**
+     * Long-lived worker that owns the pairs whose left index is in [lo, hi)
+     */
+    private static class PhaseWorker extends RecursiveAction {
+        private final int[] arr;
+        private final int lo, hi;
+        private final Phaser phaser;
+        private final PaddedFlag swapped;
+        
+        PhaseWorker(int[] arr, int lo, int hi, Phaser phaser, PaddedFlag swapped) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.phaser = phaser;
+            this.swapped = swapped;
+        }
+        
+        @Override
+        protected void compute() {
+            try {
+                while (true) {
+                    long start = SortMetrics.startTimer();
+                    boolean changed = compareExchangePhase(0);
+                    SortMetrics.busy(start);
+                    start = SortMetrics.startTimer();
+                    phaser.arriveAndAwaitAdvance();
+                    SortMetrics.waited(start, "forkjoin1-barrier");
+                    
+                    start = SortMetrics.startTimer();
+                    changed |= compareExchangePhase(1);
+                    if (changed) {
+                        swapped.set(true); // Only written when needed, read once per round
+                    }
+                    SortMetrics.busy(start);
+                    start = SortMetrics.startTimer();
+                    int phase = phaser.arriveAndAwaitAdvance();
+                    SortMetrics.waited(start, "forkjoin1-barrier");
+                    if (phase < 0) {
+                        return; // Terminated: a whole round made no swaps
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                phaser.forceTermination(); // Release the other workers
+                throw e;
+            }
+        }
+        
+        private boolean compareExchangePhase(int parity) {
+            boolean changed = false;
+            int swaps = 0;
+            int first = ((lo & 1) == parity) ? lo : lo + 1;
+            for (int i = first; i < hi; i += 2) {
+                if (arr[i] > arr[i + 1]) {
+                    ArrayUtils.swap(arr, i, i + 1);
+                    changed = true;
+                    swaps++;
+                }
+            }
+            SortMetrics.compared(Math.max(0, hi - first + 1) / 2);
+            SortMetrics.swapped(swaps);
+            return changed;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package bubblesort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementation of Fork/Join Bubble Sort (Implementation 2)
+ */
+public class ForkJoinBubbleSort2 {
+    /**
+     * Fork/Join task for bubble sort (Implementation 2)
+     */
+    private static class BubbleSortTask extends RecursiveAction {
+        private final int[] array;
+        private final int[] aux;
+        private final int start;
+        private final int end;
+        private final int threshold;
+        private final RangeSorter leaf;
+        
+        public BubbleSortTask(int[] array, int[] aux, int start, int end, int threshold, RangeSorter leaf) {
+            this.array = array;
+            this.aux = aux;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.leaf = leaf;
+        }
+        
+        @Override
+        protected void compute() {
+            int length = end - start;
+            
+            if (length <= threshold) {
+                // Sequential bubble sort, or the configured leaf sorter, for small chunks
+                long startTime = SortMetrics.startTimer();
+                leaf.sort(array, start, end);
+                SortMetrics.busy(startTime);
+            } else {
+                // Split the array and sort in parallel
+                int mid = start + length / 2;
+                
+                invokeAll(
+                    new BubbleSortTask(array, aux, start, mid, threshold, leaf),
+                    new BubbleSortTask(array, aux, mid, end, threshold, leaf)
+                );
+                
+                // Merge the two sorted halves
+                long startTime = SortMetrics.startTimer();
+                merge(array, start, mid, end);
+                SortMetrics.busy(startTime);
+            }
+        }
+        
+        /**
+         * Merges through aux[start, end), which no other running task touches
+         */
+        private void merge(int[] arr, int start, int mid, int end) {
+            int[] merged = aux;
+            int i = start, j = mid, k = start;
+            
+            while (i < mid && j < end) {
+                if (arr[i] <= arr[j]) {
+                    merged[k++] = arr[i++];
+                } else {
+                    merged[k++] = arr[j++];
+                }
+            }
+            
+            while (i < mid) merged[k++] = arr[i++];
+            while (j < end) merged[k++] = arr[j++];
+            
+            System.arraycopy(merged, start, arr, start, end - start);
+            SortMetrics.compared(end - start);
+            SortMetrics.mergedBytes(8L * (end - start)); // Merged, then copied back
+        }
+    }
+    
+    /**
+     * Fork/Join task that sorts [start, end) into either the array or the auxiliary
+     * buffer. Children always sort into the other buffer, so every merge reads one
+     * buffer and writes the other and no level allocates.
+     */
+    private static class PingPongTask extends RecursiveAction {
+        private final int[] array;
+        private final int[] aux;
+        private final int start;
+        private final int end;
+        private final boolean intoAux;
+        private final int threshold;
+        private final RangeSorter leaf;
+        
+        PingPongTask(int[] array, int[] aux, int start, int end, boolean intoAux, int threshold, RangeSorter leaf) {
+            this.array = array;
+            this.aux = aux;
+            this.start = start;
+            this.end = end;
+            this.intoAux = intoAux;
+            this.threshold = threshold;
+            this.leaf = leaf;
+        }
+        
+        @Override
+        protected void compute() {
+            int length = end - start;
+            int[] target = intoAux ? aux : array;
+            
+            if (length <= threshold) {
+                // Sequential bubble sort for small chunks, in whichever buffer is the target
+                long startTime = SortMetrics.startTimer();
+                if (intoAux) {
+                    System.arraycopy(array, start, aux, start, length);
+                    SortMetrics.mergedBytes(4L * length);
+                }
+                leaf.sort(target, start, end);
+                SortMetrics.busy(startTime);
+            } else {
+                int mid = start + length / 2;
+                
+                invokeAll(
+                    new PingPongTask(array, aux, start, mid, !intoAux, threshold, leaf),
+                    new PingPongTask(array, aux, mid, end, !intoAux, threshold, leaf)
+                );
+                
+                // Merge the two sorted halves out of the other buffer
+                long startTime = SortMetrics.startTimer();
+                merge(intoAux ? array : aux, target, start, mid, end);
+                SortMetrics.busy(startTime);
+            }
+        }
+    }
+    
+    /**
+     * Sequential bubble sort of arr[start, end)
+     */
+    private static void bubbleSort(int[] arr, int start, int end) {
+        for (int i = start; i < end - 1; i++) {
+            int swaps = 0;
+            for (int j = start; j < end - (i - start) - 1; j++) {
+                if (arr[j] > arr[j + 1]) {
+                    ArrayUtils.swap(arr, j, j + 1);
+                    swaps++;
+                }
+            }
+            SortMetrics.compared(end - (i - start) - 1 - start);
+            SortMetrics.swapped(swaps);
+        }
+    }
+    
+    /**
+     * Merges the sorted runs src[start, mid) and src[mid, end) into dst[start, end)
+     */
+    private static void merge(int[] src, int[] dst, int start, int mid, int end) {
+        int i = start, j = mid, k = start;
+        
+        while (i < mid && j < end) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        
+        while (i < mid) dst[k++] = src[i++];
+        while (j < end) dst[k++] = src[j++];
+        SortMetrics.compared(end - start);
+        SortMetrics.mergedBytes(4L * (end - start));
+    }
+    
+    /**
+     * Sorts the array with bubble-sorted chunks merged by the Fork/Join framework
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool) {
+        parallelBubbleSort(arr, pool, SortContext.DEFAULT_THRESHOLD);
+    }
+    
+    /**
+     * Sorts the array with chunks of at most threshold elements bubble-sorted before merging
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool, int threshold) {
+        parallelBubbleSort(arr, pool, threshold, new int[arr.length]);
+    }
+    
+    /**
+     * Like parallelBubbleSort, merging through aux, which must hold at least n ints
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool, int threshold, int[] aux) {
+        parallelBubbleSort(arr, pool, threshold, aux, null);
+    }
+    
+    /**
+     * Like parallelBubbleSort, sorting the leaf chunks with leaf instead of bubble sort
+     * unless it is null
+     */
+    public static void parallelBubbleSort(int[] arr, ForkJoinPool pool, int threshold, int[] aux, RangeSorter leaf) {
+        pool.invoke(new BubbleSortTask(arr, aux, 0, arr.length, threshold,
+            leaf != null ? leaf : ForkJoinBubbleSort2::bubbleSort));
+        finalPassBubbleSort(arr); // Ensure array is fully sorted
+    }
+    
+    /**
+     * Sorts the array like parallelBubbleSort, but with one auxiliary buffer allocated up
+     * front and merges alternating between the two buffers by recursion depth, so peak
+     * heap use is 2n ints. The merge tree already yields a sorted array, so instead of a
+     * final bubble pass there is an optional parallel O(n) sortedness assertion.
+     */
+    public static void pingPongBubbleSort(int[] arr, ForkJoinPool pool, int threshold, boolean verify) {
+        pingPongBubbleSort(arr, pool, threshold, verify, new int[arr.length]);
+    }
+    
+    /**
+     * Like pingPongBubbleSort, with the auxiliary buffer supplied by the caller. It must
+     * hold at least n ints.
+     */
+    public static void pingPongBubbleSort(int[] arr, ForkJoinPool pool, int threshold, boolean verify, int[] aux) {
+        pingPongBubbleSort(arr, pool, threshold, verify, aux, null);
+    }
+    
+    /**
+     * Like pingPongBubbleSort, sorting the leaf chunks with leaf instead of bubble sort
+     * unless it is null
+     */
+    public static void pingPongBubbleSort(int[] arr, ForkJoinPool pool, int threshold, boolean verify, int[] aux,
+                                          RangeSorter leaf) {
+        pool.invoke(new PingPongTask(arr, aux, 0, arr.length, false, threshold,
+            leaf != null ? leaf : ForkJoinBubbleSort2::bubbleSort));
+        
+        if (verify && !ArrayUtils.isSorted(arr, pool)) {
+            throw new IllegalStateException("Ping-pong merge produced an unsorted array");
+        }
+    }
+    
+    /**
+     * Final passes to ensure array is fully sorted
+     */
+    private static void finalPassBubbleSort(int[] arr) {
+        boolean swapped;
+        for (int i = 0; i < arr.length - 1; i++) {
+            swapped = false;
+            int swaps = 0;
+            for (int j = 0; j < arr.length - i - 1; j++) {
+                if (arr[j] > arr[j + 1]) {
+                    ArrayUtils.swap(arr, j, j + 1);
+                    swapped = true;
+                    swaps++;
+                }
+            }
+            SortMetrics.compared(arr.length - i - 1);
+            SortMetrics.swapped(swaps);
+            SortMetrics.phase();
+            if (!swapped) break;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,296 @@
+package bubblesort;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fills input arrays in parallel with one of several value distributions. The array is cut
+ * into fixed chunks of CHUNK elements and chunk c draws from its own SplittableRandom seeded
+ * from (seed, c), so the output depends only on the seed and never on the thread count.
+ *
+ * Distributions are named uniform, sorted, reverse, nearly-sorted, sawtooth, few-unique,
+ * zipf and gaussian, with an optional parameter after a colon, e.g. "nearly-sorted:100".
+ * Values lie in [0, bound).
+ */
+public final class InputGenerator {
+    public static final int DEFAULT_BOUND = 1000000; // Matches ArrayUtils.generateRandomArray
+    static final int CHUNK = 1 << 16;
+    
+    /**
+     * The shape of the generated values and the meaning of the parameter
+     */
+    public enum Distribution {
+        UNIFORM("uniform"),
+        SORTED("sorted"),                 // Uniform values in ascending order
+        REVERSE("reverse"),               // Uniform values in descending order
+        NEARLY_SORTED("nearly-sorted"),   // Parameter: random swaps, default n / 100
+        SAWTOOTH("sawtooth"),             // Parameter: tooth length, default n / 16
+        FEW_UNIQUE("few-unique"),         // Parameter: distinct values, default 16
+        ZIPF("zipf"),                     // Parameter: exponent, default 1.0; value k - 1 has weight 1 / k^s
+        GAUSSIAN("gaussian");             // Parameter: standard deviation, default bound / 8, around bound / 2
+        
+        private final String label;
+        
+        Distribution(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+        
+        /**
+         * Looks up a distribution by its label
+         */
+        public static Distribution named(String label) {
+            for (Distribution d : values()) {
+                if (d.label.equals(label)) {
+                    return d;
+                }
+            }
+            throw new IllegalArgumentException("Unknown distribution: " + label + " (available: " + labels() + ")");
+        }
+        
+        public static String labels() {
+            StringBuilder labels = new StringBuilder();
+            for (Distribution d : values()) {
+                labels.append(labels.length() == 0 ? "" : ", ").append(d.label);
+            }
+            return labels.toString();
+        }
+    }
+    
+    private final Distribution distribution;
+    private final int bound;
+    private final double parameter;
+    
+    public InputGenerator(Distribution distribution) {
+        this(distribution, DEFAULT_BOUND, Double.NaN);
+    }
+    
+    /**
+     * A generator of values in [0, bound); a NaN parameter selects the distribution's default
+     */
+    public InputGenerator(Distribution distribution, int bound, double parameter) {
+        if (bound < 1) {
+            throw new IllegalArgumentException("Bound must be positive: " + bound);
+        }
+        this.distribution = distribution;
+        this.bound = bound;
+        this.parameter = parameter;
+    }
+    
+    /**
+     * Parses "name" or "name:parameter", e.g. "zipf:1.2"
+     */
+    public static InputGenerator parse(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            return new InputGenerator(Distribution.named(spec));
+        }
+        return new InputGenerator(Distribution.named(spec.substring(0, colon)), DEFAULT_BOUND,
+            Double.parseDouble(spec.substring(colon + 1)));
+    }
+    
+    /**
+     * The generator named by --distribution, or uniform if the option is invalid
+     */
+    static InputGenerator fromOptions(Options options) {
+        try {
+            return parse(options.getString("distribution", "uniform"));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid --distribution. Using default: uniform");
+            return new InputGenerator(Distribution.UNIFORM);
+        }
+    }
+    
+    public Distribution getDistribution() {
+        return distribution;
+    }
+    
+    @Override
+    public String toString() {
+        return Double.isNaN(parameter) ? distribution.getLabel() : distribution.getLabel() + ":" + parameter;
+    }
+    
+    /**
+     * Generates size values from the seed using the pool
+     */
+    public int[] generate(int size, long seed, ForkJoinPool pool) {
+        int[] arr = new int[size];
+        fill(arr, seed, pool);
+        return arr;
+    }
+    
+    /**
+     * Generates size values from the seed using the common pool
+     */
+    public int[] generate(int size, long seed) {
+        return generate(size, seed, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Overwrites arr with values from the seed, using the pool for the per-chunk work
+     */
+    public void fill(int[] arr, long seed, ForkJoinPool pool) {
+        int n = arr.length;
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        switch (distribution) {
+            case SORTED, REVERSE, NEARLY_SORTED -> {
+                pool.invoke(new FillTask(arr, seed, 0, chunks, Distribution.UNIFORM));
+                // Tasks forked from inside a pool stay in that pool
+                pool.submit(() -> Arrays.parallelSort(arr)).join();
+                if (distribution == Distribution.REVERSE) {
+                    for (int i = 0, j = n - 1; i < j; i++, j--) {
+                        ArrayUtils.swap(arr, i, j);
+                    }
+                } else if (distribution == Distribution.NEARLY_SORTED && n > 1) {
+                    long swaps = Double.isNaN(parameter) ? Math.max(1, n / 100) : (long) parameter;
+                    SplittableRandom random = new SplittableRandom(chunkSeed(seed, -1));
+                    for (long k = 0; k < swaps; k++) {
+                        ArrayUtils.swap(arr, random.nextInt(n), random.nextInt(n));
+                    }
+                }
+            }
+            default -> pool.invoke(new FillTask(arr, seed, 0, chunks, distribution));
+        }
+    }
+    
+    /**
+     * The seed of chunk c: SplitMix64 output c of the base seed, so neighbouring chunks get
+     * unrelated streams rather than overlapping ones
+     */
+    static long chunkSeed(long seed, long chunk) {
+        long z = seed + (chunk + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Fills chunks [firstChunk, lastChunk) of the array
+     */
+    private class FillTask extends RecursiveAction {
+        private final int[] arr;
+        private final long seed;
+        private final int firstChunk, lastChunk;
+        private final Distribution shape;
+        
+        FillTask(int[] arr, long seed, int firstChunk, int lastChunk, Distribution shape) {
+            this.arr = arr;
+            this.seed = seed;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.shape = shape;
+        }
+        
+        @Override
+        protected void compute() {
+            if (lastChunk - firstChunk > 1) {
+                int mid = (firstChunk + lastChunk) >>> 1;
+                invokeAll(new FillTask(arr, seed, firstChunk, mid, shape), new FillTask(arr, seed, mid, lastChunk, shape));
+                return;
+            }
+            for (int c = firstChunk; c < lastChunk; c++) {
+                // In long, since the end of the last chunk can pass Integer.MAX_VALUE
+                fillChunk((int) ((long) c * CHUNK), (int) Math.min(arr.length, (long) (c + 1) * CHUNK),
+                    new SplittableRandom(chunkSeed(seed, c)));
+            }
+        }
+        
+        private void fillChunk(int from, int to, SplittableRandom random) {
+            int n = arr.length;
+            switch (shape) {
+                case SAWTOOTH -> {
+                    int tooth = (int) Math.max(1, Double.isNaN(parameter) ? n / 16 : parameter);
+                    for (int i = from; i < to; i++) {
+                        arr[i] = (int) ((long) (i % tooth) * bound / tooth);
+                    }
+                }
+                case FEW_UNIQUE -> {
+                    int distinct = (int) Math.max(1, Math.min(bound, Double.isNaN(parameter) ? 16 : parameter));
+                    int spacing = bound / distinct;
+                    for (int i = from; i < to; i++) {
+                        arr[i] = random.nextInt(distinct) * spacing;
+                    }
+                }
+                case ZIPF -> {
+                    ZipfSampler zipf = new ZipfSampler(bound, Double.isNaN(parameter) ? 1.0 : parameter);
+                    for (int i = from; i < to; i++) {
+                        arr[i] = zipf.sample(random) - 1;
+                    }
+                }
+                case GAUSSIAN -> {
+                    double deviation = Double.isNaN(parameter) ? bound / 8.0 : parameter;
+                    for (int i = from; i < to; i++) {
+                        double value = bound / 2.0 + random.nextGaussian() * deviation;
+                        arr[i] = (int) Math.max(0, Math.min(bound - 1, value));
+                    }
+                }
+                default -> {
+                    for (int i = from; i < to; i++) {
+                        arr[i] = random.nextInt(bound);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Zipf sampler over ranks 1..n by rejection-inversion (Hormann and Derflinger), which
+     * needs O(1) memory and time per sample for any n and any exponent s >= 0
+     */
+    static final class ZipfSampler {
+        private final int n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+        
+        ZipfSampler(int n, double exponent) {
+            if (exponent < 0) {
+                throw new IllegalArgumentException("Zipf exponent must not be negative: " + exponent);
+            }
+            this.n = n;
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+        
+        int sample(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) Math.max(1, Math.min(n, x + 0.5));
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+        
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+        
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return expm1OverX((1 - exponent) * logX) * logX;
+        }
+        
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(log1pOverX(t) * x);
+        }
+        
+        private static double expm1OverX(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+        
+        private static double log1pOverX(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+    }
+}
\ No newline at end of file
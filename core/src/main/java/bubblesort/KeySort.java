@@ -0,0 +1,161 @@
+package bubblesort;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorts objects by an int or long key without running the sorts over Object[] with a
+ * Comparator. Keys are extracted once into a packed long[] whose high half is the key (or
+ * its rank) and whose low half is the element's original index, so equal keys compare by
+ * position and every engine, bitonic included, gives a stable order. The packed array is
+ * sorted by one of the parallel long[] engines and the permutation applied in place in
+ * one pass over its cycles.
+ */
+public final class KeySort {
+    private static final int EXTRACT_CHUNK = 1 << 14;
+    private static final long VISITED = 1L << 31;
+    
+    private KeySort() {
+    }
+    
+    /**
+     * Parallel long[] engine used to sort the packed keys
+     */
+    public enum Engine {
+        FORK_JOIN_MERGE, // Chunks merged through a ping-pong buffer, as in ForkJoinBubbleSort2
+        MERGE_PATH, // Sections merged level by level, split by merge path, as in MultithreadedBubbleSort
+        BITONIC
+    }
+    
+    /**
+     * Stably sorts items by the int key
+     */
+    public static <T> void sortByIntKey(T[] items, ToIntFunction<? super T> key, Engine engine, SortContext ctx) {
+        long[] packed = new long[items.length];
+        ctx.getPool().invoke(new Extract(0, items.length, i -> packed[i] = ((long) key.applyAsInt(items[i]) << 32) | i));
+        sortPacked(packed, engine, ctx);
+        permute(items, packed);
+    }
+    
+    /**
+     * Stably sorts items by the long key. Keys spanning less than 2^32 are packed as their
+     * offset from the minimum; wider keys are first replaced by their rank among all keys.
+     */
+    public static <T> void sortByLongKey(T[] items, ToLongFunction<? super T> key, Engine engine, SortContext ctx) {
+        int n = items.length;
+        long[] keys = new long[n];
+        ctx.getPool().invoke(new Extract(0, n, i -> keys[i] = key.applyAsLong(items[i])));
+        
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for (long k : keys) {
+            min = Math.min(min, k);
+            max = Math.max(max, k);
+        }
+        long[] packed = new long[n];
+        if (n > 0 && max - min >= 0 && max - min <= 0xFFFFFFFFL) {
+            long base = min;
+            // key - base is below 2^32; shifting it to a signed int keeps the order
+            ctx.getPool().invoke(new Extract(0, n, i -> packed[i] = ((keys[i] - base + Integer.MIN_VALUE) << 32) | i));
+        } else if (n > 0) {
+            long[] sortedKeys = keys.clone();
+            sortPacked(sortedKeys, engine, ctx);
+            // The rank is the first position of the key among the sorted keys: equal keys share it
+            ctx.getPool().invoke(new Extract(0, n, i -> packed[i] = ((long) lowerBound(sortedKeys, keys[i]) << 32) | i));
+        }
+        sortPacked(packed, engine, ctx);
+        permute(items, packed);
+    }
+    
+    private static void sortPacked(long[] packed, Engine engine, SortContext ctx) {
+        switch (engine) {
+            case FORK_JOIN_MERGE:
+                LongSorts.pingPongBubbleSort(packed, ctx.getPool(), ctx.getThreshold());
+                break;
+            case MERGE_PATH:
+                try {
+                    LongSorts.multithreadedBubbleSort(packed, ctx.getPool(), ctx.getParallelism());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Sorting interrupted", e);
+                }
+                break;
+            case BITONIC:
+                LongSorts.parallelBitonicSort(packed, ctx.getPool(), ctx.getThreshold());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+    
+    /**
+     * Moves items so that position k holds the item whose original index is in the low
+     * half of packed[k]. Follows each cycle of the permutation once, marking visited
+     * positions with bit 31, which indices below 2^31 never use.
+     */
+    private static <T> void permute(T[] items, long[] packed) {
+        for (int start = 0; start < packed.length; start++) {
+            if ((packed[start] & VISITED) != 0) continue;
+            T first = items[start];
+            int k = start;
+            while (true) {
+                int from = (int) (packed[k] & Integer.MAX_VALUE);
+                packed[k] |= VISITED;
+                if (from == start) {
+                    items[k] = first;
+                    break;
+                }
+                items[k] = items[from];
+                k = from;
+            }
+        }
+    }
+    
+    private static int lowerBound(long[] sorted, long value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * Index-wise action run for every index in [from, to)
+     */
+    private interface IndexAction {
+        void apply(int i);
+    }
+    
+    /**
+     * Runs an index action over a range in parallel; key extractors chase pointers, so
+     * spreading them over the pool hides memory latency
+     */
+    private static class Extract extends RecursiveAction {
+        private final int from, to;
+        private final IndexAction action;
+        
+        Extract(int from, int to, IndexAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= EXTRACT_CHUNK) {
+                for (int i = from; i < to; i++) {
+                    action.apply(i);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                ForkJoinTask.invokeAll(new Extract(from, mid, action), new Extract(mid, to, action));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,358 @@
+package bubblesort;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Block odd-even sort across several JVM processes on one machine. The array lives in a
+ * memory-mapped file that every worker maps; worker i owns block i and does the same
+ * merge-split rounds as OddEvenSort.blockOddEvenSort, ping-ponging between two data
+ * regions. Rounds are separated by a sense-reversing barrier whose counter and sense word
+ * sit in a control region at the start of the same file and are updated with atomic
+ * VarHandle operations on the mapping, so no sockets or pipes are involved.
+ *
+ * File layout: a 4 KiB control region, then data region A and data region B of n ints each.
+ * The control words are 64 bytes apart so that no two share a cache line.
+ *
+ * Usage: MultiProcessOddEvenSort [--size n] [--workers p] [--seed n] [--distribution name[:parameter]]
+ *                                [--leaf odd-even|network] [--file path] [--keep]
+ *        MultiProcessOddEvenSort --worker id --file path   (started by the coordinator)
+ *
+ * The coordinator fills region A, starts the workers with the same java binary and class
+ * path, waits for them, and checks the result against blockOddEvenSort run in-process on
+ * the same input with the same number of blocks.
+ */
+public class MultiProcessOddEvenSort {
+    private static final int MAGIC = 0x4f455350; // "OESP"
+    private static final int HEADER_BYTES = 4096;
+    
+    // Control region offsets, one cache line apart
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SIZE_OFFSET = 64;
+    private static final int WORKERS_OFFSET = 128;
+    private static final int LEAF_OFFSET = 192;
+    private static final int COUNT_OFFSET = 256;     // Workers arrived at the barrier
+    private static final int SENSE_OFFSET = 320;     // Flipped by the last arriver
+    private static final int EXCHANGED_OFFSET = 384; // Set by any worker that moved data this round
+    private static final int QUIET_OFFSET = 448;     // Consecutive rounds without exchanges
+    private static final int STOP_OFFSET = 512;      // Set with the release of the final round
+    private static final int ROUNDS_OFFSET = 576;    // Barriers passed, the first ending the local sorts
+    
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    
+    private static final int SPINS_BEFORE_YIELD = 1 << 10;
+    private static final int SPINS_BEFORE_PARK = 1 << 14;
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Options options = new Options(args);
+        if (options.has("worker")) {
+            System.exit(runWorker(options.getInt("worker", -1), Paths.get(options.getString("file", ""))));
+        }
+        
+        int n = options.getInt("size", 1000000);
+        if (n < 1) {
+            System.err.println("Invalid --size. Using default: 1000000");
+            n = 1000000;
+        }
+        int workers = options.getInt("workers", 2);
+        long seed = options.getLong("seed", 42);
+        InputGenerator generator = InputGenerator.fromOptions(options);
+        String leaf = options.getString("leaf", "odd-even");
+        if (!leaf.equals("odd-even") && !leaf.equals("network")) {
+            System.err.println("Invalid --leaf. Using default: odd-even");
+            leaf = "odd-even";
+        }
+        if (workers < 1 || workers > n) {
+            System.err.println("Invalid --workers. Using default: 2");
+            workers = Math.min(2, n);
+        }
+        if (HEADER_BYTES + 8L * n > Integer.MAX_VALUE) {
+            System.err.println("Size " + n + " does not fit in one mapping; the limit is "
+                + (Integer.MAX_VALUE - HEADER_BYTES) / 8 + " ints");
+            System.exit(2);
+        }
+        Path shm = Paths.get("/dev/shm");
+        Path file = Paths.get(options.getString("file",
+            Files.isDirectory(shm) ? shm.resolve("bubblesort-" + ProcessHandle.current().pid()).toString()
+                : Files.createTempFile("bubblesort", ".oesp").toString()));
+        
+        int[] input = generator.generate(n, seed);
+        System.out.println("Array size: " + n + ", worker processes: " + workers + ", leaf: " + leaf);
+        System.out.println("Shared file: " + file);
+        
+        try {
+            int[] output = new int[n];
+            long startTime = System.nanoTime();
+            int leafCode = leaf.equals("network") ? 1 : 0;
+            int rounds = coordinate(input, output, workers, leafCode, file);
+            long elapsed = System.nanoTime() - startTime;
+            System.out.printf("Multi-process time: %.3f ms (%d merge-split rounds, including process startup)%n",
+                SampleStatistics.toMillis(elapsed), rounds);
+            
+            int[] expected = input.clone();
+            startTime = System.nanoTime();
+            try (SortContext ctx = new SortContext(workers)) {
+                OddEvenSort.blockOddEvenSort(expected, ctx.getPool(), workers, workers, leafSorter(leafCode));
+            }
+            System.out.printf("In-process blockOddEvenSort time: %.3f ms%n",
+                SampleStatistics.toMillis(System.nanoTime() - startTime));
+            
+            boolean identical = Arrays.equals(output, expected);
+            boolean correct = SortVerifier.verify(output, SortVerifier.fingerprint(input, ForkJoinPool.commonPool()),
+                ForkJoinPool.commonPool());
+            System.out.println("Identical to OddEvenSort: " + identical + ", verified: " + correct);
+            if (!identical || !correct) {
+                System.exit(1);
+            }
+        } finally {
+            if (!options.has("keep")) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    /**
+     * Sorts input into output with the given number of worker processes sharing file, the
+     * workers sorting their blocks with odd-even sort (leaf 0) or SortingNetworks (leaf 1).
+     * Returns the number of merge-split rounds.
+     */
+    public static int coordinate(int[] input, int[] output, int workers, int leaf, Path file)
+            throws IOException, InterruptedException {
+        int n = input.length;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + 8L * n);
+            mapped.order(ByteOrder.nativeOrder());
+            mapped.putLong(SIZE_OFFSET, n);
+            mapped.putInt(WORKERS_OFFSET, workers);
+            mapped.putInt(LEAF_OFFSET, leaf);
+            region(mapped, 0, n).put(0, input);
+            INT.setVolatile(mapped, MAGIC_OFFSET, MAGIC); // Publishes the header before any worker starts
+            
+            String java = ProcessHandle.current().info().command().orElse("java");
+            List<Process> processes = new ArrayList<>();
+            try {
+                for (int id = 0; id < workers; id++) {
+                    processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        MultiProcessOddEvenSort.class.getName(), "--worker", String.valueOf(id), "--file", file.toString())
+                        .inheritIO()
+                        .start());
+                }
+                waitForAll(processes);
+            } finally {
+                for (Process process : processes) {
+                    process.destroyForcibly();
+                }
+            }
+            
+            region(mapped, 0, n).get(0, output);
+            return (int) INT.getVolatile(mapped, ROUNDS_OFFSET) - 1;
+        }
+    }
+    
+    /**
+     * Waits for every worker, killing the rest as soon as one fails, since the others would
+     * wait at the barrier forever
+     */
+    private static void waitForAll(List<Process> processes) throws InterruptedException, IOException {
+        int running = processes.size();
+        while (running > 0) {
+            running = 0;
+            for (Process process : processes) {
+                if (process.waitFor(10, TimeUnit.MILLISECONDS)) {
+                    if (process.exitValue() != 0) {
+                        throw new IOException("Worker process " + process.pid() + " failed with exit code "
+                            + process.exitValue());
+                    }
+                } else {
+                    running++;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Worker entry point: maps the file, sorts its own block, then takes part in the
+     * merge-split rounds until the barrier reports two quiet rounds in a row
+     */
+    static int runWorker(int id, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            mapped.order(ByteOrder.nativeOrder());
+            if ((int) INT.getVolatile(mapped, MAGIC_OFFSET) != MAGIC) {
+                System.err.println("Worker " + id + ": " + file + " is not a multi-process sort file");
+                return 2;
+            }
+            int n = (int) mapped.getLong(SIZE_OFFSET);
+            int workers = mapped.getInt(WORKERS_OFFSET);
+            RangeSorter localSort = leafSorter(mapped.getInt(LEAF_OFFSET));
+            if (id < 0 || id >= workers) {
+                System.err.println("Worker id " + id + " out of range for " + workers + " workers");
+                return 2;
+            }
+            new Worker(mapped, n, workers, id, localSort).run();
+            return 0;
+        }
+    }
+    
+    private static RangeSorter leafSorter(int leaf) {
+        return leaf == 1 ? SortingNetworks::sort : OddEvenSort::oddEvenSort;
+    }
+    
+    /**
+     * Int view of data region A (0) or B (1)
+     */
+    private static IntBuffer region(MappedByteBuffer mapped, int index, int n) {
+        return mapped.slice(HEADER_BYTES + index * 4 * n, 4 * n).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+    
+    /**
+     * One process's share of the sort: block id of the array
+     */
+    private static class Worker {
+        private final MappedByteBuffer control;
+        private final IntBuffer[] regions;
+        private final int workers, id;
+        private final int[] bounds;
+        private final RangeSorter localSort;
+        private final int[] pair;
+        private final int[] block;
+        private boolean sense;
+        
+        Worker(MappedByteBuffer control, int n, int workers, int id, RangeSorter localSort) {
+            this.control = control;
+            this.regions = new IntBuffer[] {region(control, 0, n), region(control, 1, n)};
+            this.workers = workers;
+            this.id = id;
+            this.localSort = localSort;
+            this.bounds = new int[workers + 1];
+            for (int b = 0; b <= workers; b++) {
+                bounds[b] = (int) ((long) n * b / workers);
+            }
+            int largest = 0;
+            for (int b = 0; b < workers; b++) {
+                largest = Math.max(largest, bounds[b + 1] - bounds[b]);
+            }
+            this.pair = new int[2 * largest];
+            this.block = new int[largest];
+        }
+        
+        void run() {
+            int start = bounds[id], end = bounds[id + 1];
+            IntBuffer a = regions[0];
+            a.get(start, block, 0, end - start);
+            localSort.sort(block, 0, end - start);
+            a.put(start, block, 0, end - start);
+            await();
+            
+            int src = 0;
+            for (int round = 0; ; round++) {
+                if (mergeSplit(regions[src], regions[1 - src], round % 2)) {
+                    INT.setVolatile(control, EXCHANGED_OFFSET, 1);
+                }
+                boolean stop = await();
+                src = 1 - src;
+                if (stop) break;
+            }
+            
+            if (src != 0) {
+                regions[src].get(start, block, 0, end - start);
+                regions[0].put(start, block, 0, end - start);
+            }
+        }
+        
+        /**
+         * Writes this block's share of the merge with its partner into dst, as in
+         * OddEvenSort.blockOddEvenSort. Returns false if the block was only copied.
+         */
+        private boolean mergeSplit(IntBuffer src, IntBuffer dst, int parity) {
+            boolean lower = (id % 2) == parity;
+            int partner = lower ? id + 1 : id - 1;
+            int start = bounds[id], end = bounds[id + 1];
+            int length = end - start;
+            if (partner < 0 || partner >= workers) {
+                src.get(start, block, 0, length);
+                dst.put(start, block, 0, length);
+                return false;
+            }
+            
+            int lo = lower ? id : partner;
+            int s0 = bounds[lo], mid = bounds[lo + 1], e1 = bounds[lo + 2];
+            if (src.get(mid - 1) <= src.get(mid)) {
+                src.get(start, block, 0, length);
+                dst.put(start, block, 0, length);
+                return false;
+            }
+            
+            // Merge the pair from a local copy; indices below are relative to s0
+            src.get(s0, pair, 0, e1 - s0);
+            int m = mid - s0, e = e1 - s0;
+            if (lower) {
+                // Keep the smallest elements: merge from the front
+                int i = 0, j = m;
+                for (int k = 0; k < length; k++) {
+                    block[k] = (j >= e || pair[i] <= pair[j]) ? pair[i++] : pair[j++];
+                }
+            } else {
+                // Keep the largest elements: merge from the back
+                int i = m - 1, j = e - 1;
+                for (int k = length - 1; k >= 0; k--) {
+                    block[k] = (i < 0 || pair[j] >= pair[i]) ? pair[j--] : pair[i--];
+                }
+            }
+            dst.put(start, block, 0, length);
+            return true;
+        }
+        
+        /**
+         * Sense-reversing barrier over the control region. The last worker to arrive decides
+         * whether the sort is finished before it releases the others, so every worker reads
+         * the same answer. Returns true once two rounds in a row exchanged nothing.
+         */
+        private boolean await() {
+            sense = !sense;
+            int senseValue = sense ? 1 : 0;
+            if ((int) INT.getAndAdd(control, COUNT_OFFSET, 1) == workers - 1) {
+                INT.setVolatile(control, COUNT_OFFSET, 0);
+                int rounds = (int) INT.getVolatile(control, ROUNDS_OFFSET);
+                if (rounds > 0) {
+                    // Every barrier after the local sorts ends a merge-split round
+                    int quiet = (int) INT.getAndSet(control, EXCHANGED_OFFSET, 0) == 1
+                        ? 0 : (int) INT.getVolatile(control, QUIET_OFFSET) + 1;
+                    INT.setVolatile(control, QUIET_OFFSET, quiet);
+                    if (quiet >= 2) {
+                        INT.setVolatile(control, STOP_OFFSET, 1);
+                    }
+                }
+                INT.setVolatile(control, ROUNDS_OFFSET, rounds + 1);
+                INT.setRelease(control, SENSE_OFFSET, senseValue);
+            } else {
+                for (int spins = 0; (int) INT.getAcquire(control, SENSE_OFFSET) != senseValue; spins++) {
+                    if (spins < SPINS_BEFORE_YIELD) {
+                        Thread.onSpinWait();
+                    } else if (spins < SPINS_BEFORE_PARK) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(50_000);
+                    }
+                }
+            }
+            return (int) INT.getVolatile(control, STOP_OFFSET) == 1;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of Multithreaded Bubble Sort using ExecutorService
+ */
+public class MultithreadedBubbleSort {
+    
+    /**
+     * Sorts an array using multiple threads with ExecutorService
+     */
+    public static void multithreadedBubbleSort(int[] arr, int numThreads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            multithreadedBubbleSort(arr, executor, numThreads);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Sorts an array using numThreads tasks on an executor that is reused for every stage.
+     * Sections are bubble-sorted in parallel, then merged pairwise level by level; each
+     * merge is split across threads by co-ranking, ping-ponging between two buffers.
+     */
+    public static void multithreadedBubbleSort(int[] arr, ExecutorService executor, int numThreads)
+            throws InterruptedException {
+        multithreadedBubbleSort(arr, executor, numThreads, new int[arr.length]);
+    }
+    
+    /**
+     * Like multithreadedBubbleSort, ping-ponging the merges through scratch, which must hold
+     * at least n ints
+     */
+    public static void multithreadedBubbleSort(int[] arr, ExecutorService executor, int numThreads, int[] scratch)
+            throws InterruptedException {
+        multithreadedBubbleSort(arr, executor, numThreads, scratch, null);
+    }
+    
+    /**
+     * Like multithreadedBubbleSort, sorting the sections with leaf instead of bubble sort
+     * unless it is null
+     */
+    public static void multithreadedBubbleSort(int[] arr, ExecutorService executor, int numThreads, int[] scratch,
+                                               RangeSorter leaf) throws InterruptedException {
+        RangeSorter sectionSort = leaf != null ? leaf : MultithreadedBubbleSort::bubbleSortSection;
+        int n = arr.length;
+        if (n <= 1) return;
+        if (n < numThreads * 10) {
+            SequentialBubbleSort.sequentialBubbleSort(arr);
+            return;
+        }
+    
+        int sectionSize = n / numThreads;
+        List<Callable<Void>> tasks = new ArrayList<>();
+    
+        // Sort each section in parallel
+        for (int i = 0; i < numThreads; i++) {
+            final int start = i * sectionSize;
+            final int end = (i < numThreads - 1) ? (i + 1) * sectionSize : n;
+            tasks.add(() -> {
+                long startTime = SortMetrics.startTimer();
+                sectionSort.sort(arr, start, end);
+                SortMetrics.busy(startTime);
+                return null;
+            });
+        }
+        runAll(executor, tasks);
+        SortMetrics.phase();
+    
+        // Merge the sorted sections
+        int[] src = arr;
+        int[] dst = scratch;
+        int currentSize = sectionSize;
+        while (currentSize < n) {
+            tasks.clear();
+            for (int i = 0; i < n; i += currentSize * 2) {
+                final int start = i;
+                final int middle = Math.min(i + currentSize, n);
+                final int end = Math.min(i + 2 * currentSize, n);
+                final int[] from = src, to = dst;
+                
+                // Give each merge a share of the threads proportional to its length
+                int parts = (int) Math.max(1, Math.min(end - start, (long) numThreads * (end - start) / n));
+                for (int p = 0; p < parts; p++) {
+                    final int outStart = start + (int) ((long) (end - start) * p / parts);
+                    final int outEnd = start + (int) ((long) (end - start) * (p + 1) / parts);
+                    tasks.add(() -> {
+                        long startTime = SortMetrics.startTimer();
+                        mergeRange(from, to, start, middle, end, outStart, outEnd);
+                        SortMetrics.busy(startTime);
+                        return null;
+                    });
+                }
+            }
+            runAll(executor, tasks);
+            SortMetrics.phase();
+            
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+            currentSize *= 2;
+        }
+        
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+    
+    /**
+     * Runs the tasks on the executor and waits for all of them, rethrowing any failure
+     */
+    private static void runAll(ExecutorService executor, List<Callable<Void>> tasks) throws InterruptedException {
+        long start = SortMetrics.startTimer();
+        List<Future<Void>> futures = executor.invokeAll(tasks);
+        SortMetrics.waited(start, "multithreaded-stage");
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+    
+    /**
+     * Bubble sort on a section of the array
+     */
+    private static void bubbleSortSection(int[] arr, int start, int end) {
+        for (int i = start; i < end; i++) {
+            int swaps = 0;
+            for (int j = start; j < end - 1 - (i - start); j++) {
+                if (arr[j] > arr[j + 1]) {
+                    ArrayUtils.swap(arr, j, j + 1);
+                    swaps++;
+                }
+            }
+            SortMetrics.compared(Math.max(0, end - 1 - (i - start) - start));
+            SortMetrics.swapped(swaps);
+        }
+    }
+    
+    /**
+     * Writes output positions [outStart, outEnd) of the merge of the sorted sections
+     * src[start, middle) and src[middle, end) into dst, in linear time
+     */
+    private static void mergeRange(int[] src, int[] dst, int start, int middle, int end, int outStart, int outEnd) {
+        int leftLength = middle - start, rightLength = end - middle;
+        int i = start + coRank(src, start, leftLength, middle, rightLength, outStart - start);
+        int j = middle + (outStart - start) - (i - start);
+        int iEnd = start + coRank(src, start, leftLength, middle, rightLength, outEnd - start);
+        int jEnd = middle + (outEnd - start) - (iEnd - start);
+        
+        int k = outStart;
+        while (i < iEnd && j < jEnd) {
+            dst[k++] = (src[i] <= src[j]) ? src[i++] : src[j++];
+        }
+        while (i < iEnd) dst[k++] = src[i++];
+        while (j < jEnd) dst[k++] = src[j++];
+        SortMetrics.compared(outEnd - outStart);
+        SortMetrics.mergedBytes(4L * (outEnd - outStart));
+    }
+    
+    /**
+     * Merge path co-rank: how many of the first k merged elements come from the left
+     * section. Finds the smallest i with right[k - i - 1] < left[i], which keeps equal
+     * elements of the left section first.
+     */
+    private static int coRank(int[] src, int left, int leftLength, int right, int rightLength, int k) {
+        int lo = Math.max(0, k - rightLength);
+        int hi = Math.min(k, leftLength);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            if (src[right + k - i - 1] < src[left + i]) {
+                hi = i;
+            } else {
+                lo = i + 1;
+            }
+        }
+        return lo;
+    }
+}
\ No newline at end of file
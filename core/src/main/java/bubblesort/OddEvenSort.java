@@ -0,0 +1,240 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementation of Odd-Even Sort (Parallel Bubble Sort)
+ */
+public class OddEvenSort {
+    
+    /**
+     * Implements the odd-even sort algorithm
+     */
+    public static void oddEvenSort(int[] arr) {
+        oddEvenSort(arr, 0, arr.length);
+    }
+    
+    /**
+     * Implements the odd-even sort algorithm with the given compare-exchange kernels
+     */
+    public static void oddEvenSort(int[] arr, CompareExchangeKernels kernels) {
+        int n = arr.length;
+        boolean sorted = false;
+        
+        while (!sorted) {
+            // Odd phase, then even phase
+            boolean changed = kernels.oddEvenPairs(arr, 1, n);
+            changed |= kernels.oddEvenPairs(arr, 0, n);
+            sorted = !changed;
+            SortMetrics.phase();
+            SortMetrics.phase();
+        }
+    }
+    
+    /**
+     * Implements the odd-even sort algorithm on the range [from, to)
+     */
+    public static void oddEvenSort(int[] arr, int from, int to) {
+        boolean sorted = false;
+        
+        while (!sorted) {
+            sorted = true;
+            int swaps = 0;
+            
+            // Odd phase
+            for (int i = from + 1; i < to - 1; i += 2) {
+                if (arr[i] > arr[i + 1]) {
+                    ArrayUtils.swap(arr, i, i + 1);
+                    sorted = false;
+                    swaps++;
+                }
+            }
+            
+            // Even phase
+            for (int i = from; i < to - 1; i += 2) {
+                if (arr[i] > arr[i + 1]) {
+                    ArrayUtils.swap(arr, i, i + 1);
+                    sorted = false;
+                    swaps++;
+                }
+            }
+            
+            SortMetrics.compared(Math.max(0, to - from - 1));
+            SortMetrics.swapped(swaps);
+            SortMetrics.phase();
+            SortMetrics.phase();
+        }
+    }
+    
+    /**
+     * Block odd-even sort: the array is cut into numBlocks contiguous blocks that are
+     * first sorted locally, then in every round each block does a merge-split with its
+     * left or right neighbour (alternating), keeping the lower or upper part. Rounds stop
+     * once an even and an odd round exchange nothing, which takes O(p) global
+     * synchronization rounds instead of the O(n) phases of element-wise odd-even sort.
+     */
+    public static void blockOddEvenSort(int[] arr, ForkJoinPool pool, int numThreads, int numBlocks,
+                                        RangeSorter localSort) {
+        blockOddEvenSort(arr, pool, numThreads, numBlocks, localSort, new int[arr.length]);
+    }
+    
+    /**
+     * Block odd-even sort that merges through the caller's scratch buffer, which must hold
+     * at least arr.length ints
+     */
+    public static void blockOddEvenSort(int[] arr, ForkJoinPool pool, int numThreads, int numBlocks,
+                                        RangeSorter localSort, int[] scratch) {
+        int n = arr.length;
+        int blocks = Math.max(1, Math.min(numBlocks, n));
+        if (blocks == 1) {
+            localSort.sort(arr, 0, n);
+            return;
+        }
+        int threads = Math.max(1, Math.min(numThreads, blocks));
+        
+        int[] bounds = new int[blocks + 1];
+        for (int b = 0; b <= blocks; b++) {
+            bounds[b] = (int) ((long) n * b / blocks);
+        }
+        
+        PaddedFlag exchanged = new PaddedFlag();
+        Phaser phaser = new Phaser(threads) {
+            private int quietRounds;
+            
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                if (phase == 0) {
+                    return false; // Local sorts done
+                }
+                SortMetrics.phase();
+                // Two quiet rounds in a row mean every block boundary is in order. With equal
+                // blocks that happens within numBlocks rounds; uneven blocks may need a few more.
+                quietRounds = exchanged.get() ? 0 : quietRounds + 1;
+                exchanged.set(false);
+                return quietRounds >= 2;
+            }
+        };
+        
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            tasks.add(pool.submit(new BlockWorker(arr, scratch, bounds, t, threads, localSort, phaser, exchanged)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+    
+    /**
+     * Worker that owns the blocks b with b % threads == id for the whole sort
+     */
+    private static class BlockWorker extends RecursiveAction {
+        private final int[] arr;
+        private final int[] scratch;
+        private final int[] bounds;
+        private final int id, threads;
+        private final RangeSorter localSort;
+        private final Phaser phaser;
+        private final PaddedFlag exchanged;
+        
+        BlockWorker(int[] arr, int[] scratch, int[] bounds, int id, int threads, RangeSorter localSort,
+                    Phaser phaser, PaddedFlag exchanged) {
+            this.arr = arr;
+            this.scratch = scratch;
+            this.bounds = bounds;
+            this.id = id;
+            this.threads = threads;
+            this.localSort = localSort;
+            this.phaser = phaser;
+            this.exchanged = exchanged;
+        }
+        
+        @Override
+        protected void compute() {
+            try {
+                int blocks = bounds.length - 1;
+                long start = SortMetrics.startTimer();
+                for (int b = id; b < blocks; b += threads) {
+                    localSort.sort(arr, bounds[b], bounds[b + 1]);
+                }
+                SortMetrics.busy(start);
+                start = SortMetrics.startTimer();
+                phaser.arriveAndAwaitAdvance();
+                SortMetrics.waited(start, "odd-even-block");
+                
+                // Rounds read every block from src and write every block to dst, then the two swap
+                int[] src = arr, dst = scratch;
+                for (int round = 0; ; round++) {
+                    boolean changed = false;
+                    start = SortMetrics.startTimer();
+                    for (int b = id; b < blocks; b += threads) {
+                        changed |= mergeSplit(src, dst, b, round % 2);
+                    }
+                    if (changed) {
+                        exchanged.set(true);
+                    }
+                    SortMetrics.busy(start);
+                    start = SortMetrics.startTimer();
+                    int phase = phaser.arriveAndAwaitAdvance();
+                    SortMetrics.waited(start, "odd-even-block");
+                    int[] temp = src;
+                    src = dst;
+                    dst = temp;
+                    if (phase < 0) break;
+                }
+                
+                if (src != arr) {
+                    for (int b = id; b < blocks; b += threads) {
+                        System.arraycopy(src, bounds[b], arr, bounds[b], bounds[b + 1] - bounds[b]);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                phaser.forceTermination(); // Release the other workers
+                throw e;
+            }
+        }
+        
+        /**
+         * Writes block b's share of the merge with its partner for this round into dst.
+         * Returns false if the pair was already in order and the block was just copied.
+         */
+        private boolean mergeSplit(int[] src, int[] dst, int b, int parity) {
+            boolean lower = (b % 2) == parity;
+            int partner = lower ? b + 1 : b - 1;
+            int start = bounds[b], end = bounds[b + 1];
+            SortMetrics.mergedBytes(4L * (end - start));
+            if (partner < 0 || partner >= bounds.length - 1) {
+                System.arraycopy(src, start, dst, start, end - start);
+                return false;
+            }
+            
+            int lo = lower ? b : partner;
+            int s0 = bounds[lo], mid = bounds[lo + 1], e1 = bounds[lo + 2];
+            SortMetrics.compared(1);
+            if (src[mid - 1] <= src[mid]) {
+                System.arraycopy(src, start, dst, start, end - start);
+                return false;
+            }
+            
+            SortMetrics.compared(end - start);
+            if (lower) {
+                // Keep the smallest elements: merge from the front
+                int i = s0, j = mid;
+                for (int k = start; k < end; k++) {
+                    dst[k] = (j >= e1 || src[i] <= src[j]) ? src[i++] : src[j++];
+                }
+            } else {
+                // Keep the largest elements: merge from the back
+                int i = mid - 1, j = e1 - 1;
+                for (int k = end - 1; k >= start; k--) {
+                    dst[k] = (i < s0 || src[j] >= src[i]) ? src[j--] : src[i--];
+                }
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package bubblesort;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * An int array outside the Java heap with long indices, so it can hold more than
+ * Integer.MAX_VALUE elements and is never scanned or copied by the GC. Storage is a list of
+ * direct buffers of 2^28 ints (1 GiB) each, the largest power of two a single buffer can
+ * address. Direct memory is capped by -XX:MaxDirectMemorySize, which defaults to the maximum
+ * heap size, so large arrays need that flag raised. The memory is returned when the array
+ * becomes unreachable.
+ */
+public final class OffHeapIntArray {
+    private static final int CHUNK_SHIFT = 28;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    
+    private final IntBuffer[] chunks;
+    private final long length;
+    
+    public OffHeapIntArray(long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative: " + length);
+        }
+        this.length = length;
+        int count = (int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT);
+        this.chunks = new IntBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long ints = Math.min(1L << CHUNK_SHIFT, length - ((long) c << CHUNK_SHIFT));
+            chunks[c] = ByteBuffer.allocateDirect((int) ints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+    
+    public long length() {
+        return length;
+    }
+    
+    public int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) index & CHUNK_MASK);
+    }
+    
+    public void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) index & CHUNK_MASK, value);
+    }
+    
+    public void swap(long i, long j) {
+        int temp = get(i);
+        set(i, get(j));
+        set(j, temp);
+    }
+    
+    /**
+     * Copies count ints starting at from into dst[offset, offset + count), across chunk boundaries
+     */
+    public void get(long from, int[] dst, int offset, int count) {
+        while (count > 0) {
+            int within = (int) from & CHUNK_MASK;
+            int n = Math.min(count, CHUNK_MASK + 1 - within);
+            chunks[(int) (from >>> CHUNK_SHIFT)].get(within, dst, offset, n);
+            from += n;
+            offset += n;
+            count -= n;
+        }
+    }
+    
+    /**
+     * Copies src[offset, offset + count) to the ints starting at from, across chunk boundaries
+     */
+    public void put(long from, int[] src, int offset, int count) {
+        while (count > 0) {
+            int within = (int) from & CHUNK_MASK;
+            int n = Math.min(count, CHUNK_MASK + 1 - within);
+            chunks[(int) (from >>> CHUNK_SHIFT)].put(within, src, offset, n);
+            from += n;
+            offset += n;
+            count -= n;
+        }
+    }
+    
+    /**
+     * Copies count ints from [from, from + count) of this array to dst starting at dstFrom
+     */
+    public void copyTo(long from, OffHeapIntArray dst, long dstFrom, long count) {
+        while (count > 0) {
+            int within = (int) from & CHUNK_MASK;
+            int dstWithin = (int) dstFrom & CHUNK_MASK;
+            int n = (int) Math.min(count, Math.min(CHUNK_MASK + 1 - within, CHUNK_MASK + 1 - dstWithin));
+            dst.chunks[(int) (dstFrom >>> CHUNK_SHIFT)].put(dstWithin, chunks[(int) (from >>> CHUNK_SHIFT)], within, n);
+            from += n;
+            dstFrom += n;
+            count -= n;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,446 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Long-indexed versions of the parallel engines over OffHeapIntArray, for key sets of more
+ * than 2^31 ints that should stay off the GC heap:
+ *
+ *  - merge: the forkjoin2 ping-pong merge sort, with leaf chunks copied to a small on-heap
+ *    buffer and sorted by a RangeSorter, and large merges split by co-ranking
+ *  - block: block odd-even merge-split rounds as in OddEvenSort.blockOddEvenSort
+ *  - bitonic: the ascending-only bitonic network over a virtual power-of-two length whose
+ *    missing tail counts as +infinity, so no padding is allocated
+ *
+ * Usage: OffHeapSort [--size n] [--algorithm merge|block|bitonic] [--threads n]
+ *                    [--threshold n] [--seed n]
+ *
+ * Sizes past the default direct memory limit need -XX:MaxDirectMemorySize, e.g. 24g for
+ * a 10 GB array and its auxiliary buffer.
+ */
+public class OffHeapSort {
+    private static final int MERGE_GRAIN = 1 << 18; // Output elements per parallel merge task
+    private static final int STAGE_GRAIN = 1 << 16; // Compare-exchange pairs per bitonic task
+    private static final int GENERATE_BLOCK = 1 << 22;
+    
+    private static final ThreadLocal<int[]> LEAF_BUFFER = ThreadLocal.withInitial(() -> new int[0]);
+    
+    public static void main(String[] args) {
+        Options options = new Options(args);
+        long n = options.getLong("size", 100_000_000L);
+        if (n < 0) {
+            System.err.println("Invalid --size. Using default: 100000000");
+            n = 100_000_000L;
+        }
+        String algorithm = options.getString("algorithm", "merge");
+        int numThreads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        int threshold = options.getInt("threshold", 1 << 12);
+        long seed = options.getLong("seed", 42);
+        if (!List.of("merge", "block", "bitonic").contains(algorithm)) {
+            System.err.println("Invalid --algorithm. Using default: merge");
+            algorithm = "merge";
+        }
+        
+        System.out.println("Off-heap array size: " + n + " ints (" + (4 * n >> 20) + " MB), algorithm: " + algorithm
+            + ", threads: " + numThreads);
+        try (SortContext ctx = new SortContext(numThreads, Math.max(32, threshold))) {
+            OffHeapIntArray arr = new OffHeapIntArray(n);
+            generate(arr, seed, ctx.getPool());
+            SortVerifier.Fingerprint expected = fingerprint(arr, false);
+            // Allocated and zeroed before timing, like arr; bitonic sorts in place
+            OffHeapIntArray aux = algorithm.equals("bitonic") ? null : new OffHeapIntArray(n);
+            
+            long startTime = System.nanoTime();
+            switch (algorithm) {
+                case "block" -> blockOddEvenSort(arr, aux, ctx.getPool(), numThreads, numThreads, ctx.getThreshold());
+                case "bitonic" -> bitonicSort(arr, ctx.getPool());
+                default -> mergeSort(arr, aux, ctx.getPool(), ctx.getThreshold(), SortingNetworks::sort);
+            }
+            long elapsed = System.nanoTime() - startTime;
+            
+            SortVerifier.Fingerprint actual = fingerprint(arr, true);
+            boolean correct = actual != null && actual.equals(expected);
+            System.out.printf("Time: %.3f ms, correct: %s%n", SampleStatistics.toMillis(elapsed), correct);
+            if (!correct) {
+                System.exit(1);
+            }
+        }
+    }
+    
+    /**
+     * Fills the array with uniform values in parallel, one InputGenerator array per block
+     */
+    static void generate(OffHeapIntArray arr, long seed, ForkJoinPool pool) {
+        InputGenerator uniform = new InputGenerator(InputGenerator.Distribution.UNIFORM);
+        int[] block = new int[(int) Math.min(GENERATE_BLOCK, arr.length())];
+        for (long from = 0; from < arr.length(); from += block.length) {
+            int count = (int) Math.min(block.length, arr.length() - from);
+            uniform.fill(block, InputGenerator.chunkSeed(seed, from / GENERATE_BLOCK), pool);
+            arr.put(from, block, 0, count);
+        }
+    }
+    
+    /**
+     * Fingerprints the array block by block, or returns null if checkOrder is set and it is
+     * not ascending
+     */
+    static SortVerifier.Fingerprint fingerprint(OffHeapIntArray arr, boolean checkOrder) {
+        SortVerifier.Fingerprint fingerprint = SortVerifier.Fingerprint.EMPTY;
+        int[] block = new int[(int) Math.min(GENERATE_BLOCK, arr.length())];
+        for (long from = 0; from < arr.length(); from += block.length) {
+            int count = (int) Math.min(block.length, arr.length() - from);
+            arr.get(from, block, 0, count);
+            if (checkOrder && (!ArrayUtils.isSorted(block, 0, count) || (from > 0 && arr.get(from - 1) > block[0]))) {
+                return null;
+            }
+            fingerprint = fingerprint.combine(SortVerifier.fingerprint(block, 0, count));
+        }
+        return fingerprint;
+    }
+    
+    /**
+     * Fork/Join merge sort: leaves of at most threshold ints are sorted on-heap by leaf, and
+     * merges alternate between arr and aux by depth. aux must be at least as long as arr.
+     */
+    public static void mergeSort(OffHeapIntArray arr, OffHeapIntArray aux, ForkJoinPool pool, int threshold,
+                                 RangeSorter leaf) {
+        pool.invoke(new SortTask(arr, aux, 0, arr.length(), false, threshold, leaf, true));
+    }
+    
+    /**
+     * Sorts [start, end) into arr or aux, children always into the other one
+     */
+    private static class SortTask extends RecursiveAction {
+        private final OffHeapIntArray array, aux;
+        private final long start, end;
+        private final boolean intoAux;
+        private final int threshold;
+        private final RangeSorter leaf;
+        private final boolean parallel;
+        
+        SortTask(OffHeapIntArray array, OffHeapIntArray aux, long start, long end, boolean intoAux, int threshold,
+                 RangeSorter leaf, boolean parallel) {
+            this.array = array;
+            this.aux = aux;
+            this.start = start;
+            this.end = end;
+            this.intoAux = intoAux;
+            this.threshold = threshold;
+            this.leaf = leaf;
+            this.parallel = parallel;
+        }
+        
+        @Override
+        protected void compute() {
+            long length = end - start;
+            OffHeapIntArray target = intoAux ? aux : array;
+            if (length <= threshold) {
+                long startTime = SortMetrics.startTimer();
+                int[] buffer = LEAF_BUFFER.get();
+                if (buffer.length < length) {
+                    buffer = new int[threshold];
+                    LEAF_BUFFER.set(buffer);
+                }
+                array.get(start, buffer, 0, (int) length);
+                leaf.sort(buffer, 0, (int) length);
+                target.put(start, buffer, 0, (int) length);
+                SortMetrics.busy(startTime);
+                return;
+            }
+            
+            long mid = start + length / 2;
+            SortTask left = new SortTask(array, aux, start, mid, !intoAux, threshold, leaf, parallel);
+            SortTask right = new SortTask(array, aux, mid, end, !intoAux, threshold, leaf, parallel);
+            MergeTask merge = new MergeTask(intoAux ? array : aux, target, start, mid, end, start, end, parallel);
+            if (parallel) {
+                invokeAll(left, right);
+                merge.invoke();
+            } else {
+                left.compute();
+                right.compute();
+                merge.compute();
+            }
+        }
+    }
+    
+    /**
+     * Writes output positions [outStart, outEnd) of the merge of src[start, mid) and
+     * src[mid, end) into dst, splitting long ranges by co-ranking
+     */
+    private static class MergeTask extends RecursiveAction {
+        private final OffHeapIntArray src, dst;
+        private final long start, mid, end, outStart, outEnd;
+        private final boolean parallel;
+        
+        MergeTask(OffHeapIntArray src, OffHeapIntArray dst, long start, long mid, long end, long outStart, long outEnd,
+                  boolean parallel) {
+            this.src = src;
+            this.dst = dst;
+            this.start = start;
+            this.mid = mid;
+            this.end = end;
+            this.outStart = outStart;
+            this.outEnd = outEnd;
+            this.parallel = parallel;
+        }
+        
+        @Override
+        protected void compute() {
+            if (parallel && outEnd - outStart > MERGE_GRAIN) {
+                long split = (outStart + outEnd) >>> 1;
+                invokeAll(new MergeTask(src, dst, start, mid, end, outStart, split, true),
+                    new MergeTask(src, dst, start, mid, end, split, outEnd, true));
+                return;
+            }
+            long startTime = SortMetrics.startTimer();
+            long i = start + coRank(src, start, mid - start, mid, end - mid, outStart - start);
+            long j = mid + (outStart - start) - (i - start);
+            for (long k = outStart; k < outEnd; k++) {
+                if (j >= end || (i < mid && src.get(i) <= src.get(j))) {
+                    dst.set(k, src.get(i++));
+                } else {
+                    dst.set(k, src.get(j++));
+                }
+            }
+            SortMetrics.compared(outEnd - outStart);
+            SortMetrics.mergedBytes(4L * (outEnd - outStart));
+            SortMetrics.busy(startTime);
+        }
+    }
+    
+    /**
+     * Merge path co-rank, as in MultithreadedBubbleSort: how many of the first k merged
+     * elements come from the left run, equal elements of the left run first
+     */
+    private static long coRank(OffHeapIntArray src, long left, long leftLength, long right, long rightLength, long k) {
+        long lo = Math.max(0, k - rightLength);
+        long hi = Math.min(k, leftLength);
+        while (lo < hi) {
+            long i = (lo + hi) >>> 1;
+            if (src.get(right + k - i - 1) < src.get(left + i)) {
+                hi = i;
+            } else {
+                lo = i + 1;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * Block odd-even sort: numBlocks blocks are merge-sorted locally with leaves of at most
+     * threshold ints, then merge-split with alternating neighbours until an even and an odd
+     * round exchange nothing. aux must be at least as long as arr.
+     */
+    public static void blockOddEvenSort(OffHeapIntArray arr, OffHeapIntArray aux, ForkJoinPool pool, int numThreads,
+                                        int numBlocks, int threshold) {
+        long n = arr.length();
+        int blocks = (int) Math.max(1, Math.min(numBlocks, n));
+        int threads = Math.max(1, Math.min(numThreads, blocks));
+        long[] bounds = new long[blocks + 1];
+        for (int b = 0; b <= blocks; b++) {
+            bounds[b] = n / blocks * b + Math.min(b, n % blocks);
+        }
+        
+        PaddedFlag exchanged = new PaddedFlag();
+        Phaser phaser = new Phaser(threads) {
+            private int quietRounds;
+            
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                if (phase == 0) {
+                    return blocks == 1; // Local sorts done
+                }
+                SortMetrics.phase();
+                quietRounds = exchanged.get() ? 0 : quietRounds + 1;
+                exchanged.set(false);
+                return quietRounds >= 2;
+            }
+        };
+        
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            tasks.add(pool.submit(new BlockWorker(arr, aux, bounds, t, threads, threshold, phaser, exchanged)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+    
+    /**
+     * Worker that owns the blocks b with b % threads == id for the whole sort
+     */
+    private static class BlockWorker extends RecursiveAction {
+        private final OffHeapIntArray arr, aux;
+        private final long[] bounds;
+        private final int id, threads, threshold;
+        private final Phaser phaser;
+        private final PaddedFlag exchanged;
+        
+        BlockWorker(OffHeapIntArray arr, OffHeapIntArray aux, long[] bounds, int id, int threads, int threshold,
+                    Phaser phaser, PaddedFlag exchanged) {
+            this.arr = arr;
+            this.aux = aux;
+            this.bounds = bounds;
+            this.id = id;
+            this.threads = threads;
+            this.threshold = threshold;
+            this.phaser = phaser;
+            this.exchanged = exchanged;
+        }
+        
+        @Override
+        protected void compute() {
+            try {
+                int blocks = bounds.length - 1;
+                long start = SortMetrics.startTimer();
+                for (int b = id; b < blocks; b += threads) {
+                    // Sequential, so that no subtask can be left waiting behind a blocked worker
+                    new SortTask(arr, aux, bounds[b], bounds[b + 1], false, threshold, SortingNetworks::sort, false)
+                        .compute();
+                }
+                SortMetrics.busy(start);
+                start = SortMetrics.startTimer();
+                int phase = phaser.arriveAndAwaitAdvance();
+                SortMetrics.waited(start, "off-heap-block");
+                if (phase < 0) return;
+                
+                OffHeapIntArray src = arr, dst = aux;
+                for (int round = 0; ; round++) {
+                    boolean changed = false;
+                    start = SortMetrics.startTimer();
+                    for (int b = id; b < blocks; b += threads) {
+                        changed |= mergeSplit(src, dst, b, round % 2);
+                    }
+                    if (changed) {
+                        exchanged.set(true);
+                    }
+                    SortMetrics.busy(start);
+                    start = SortMetrics.startTimer();
+                    phase = phaser.arriveAndAwaitAdvance();
+                    SortMetrics.waited(start, "off-heap-block");
+                    OffHeapIntArray temp = src;
+                    src = dst;
+                    dst = temp;
+                    if (phase < 0) break;
+                }
+                
+                if (src != arr) {
+                    for (int b = id; b < blocks; b += threads) {
+                        src.copyTo(bounds[b], arr, bounds[b], bounds[b + 1] - bounds[b]);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                phaser.forceTermination(); // Release the other workers
+                throw e;
+            }
+        }
+        
+        /**
+         * Writes block b's share of the merge with its partner for this round into dst.
+         * Returns false if the pair was already in order and the block was just copied.
+         */
+        private boolean mergeSplit(OffHeapIntArray src, OffHeapIntArray dst, int b, int parity) {
+            boolean lower = (b % 2) == parity;
+            int partner = lower ? b + 1 : b - 1;
+            long start = bounds[b], end = bounds[b + 1];
+            if (partner < 0 || partner >= bounds.length - 1) {
+                src.copyTo(start, dst, start, end - start);
+                return false;
+            }
+            
+            int lo = lower ? b : partner;
+            long s0 = bounds[lo], mid = bounds[lo + 1], e1 = bounds[lo + 2];
+            if (src.get(mid - 1) <= src.get(mid)) {
+                src.copyTo(start, dst, start, end - start);
+                return false;
+            }
+            
+            SortMetrics.compared(end - start);
+            if (lower) {
+                // Keep the smallest elements: merge from the front
+                long i = s0, j = mid;
+                for (long k = start; k < end; k++) {
+                    dst.set(k, (j >= e1 || src.get(i) <= src.get(j)) ? src.get(i++) : src.get(j++));
+                }
+            } else {
+                // Keep the largest elements: merge from the back
+                long i = mid - 1, j = e1 - 1;
+                for (long k = end - 1; k >= start; k--) {
+                    dst.set(k, (i < s0 || src.get(j) >= src.get(i)) ? src.get(j--) : src.get(i--));
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Bitonic sort without padding. In the ascending-only network the first step of every
+     * merge compares i with its mirror i ^ (k - 1) and later steps compare i with i + j,
+     * always keeping the smaller value at the lower index. Positions past the end act as
+     * +infinity, which never moves, so comparisons that reach them are simply skipped.
+     */
+    public static void bitonicSort(OffHeapIntArray arr, ForkJoinPool pool) {
+        long n = arr.length();
+        long size = 1;
+        while (size < n) {
+            size <<= 1;
+        }
+        for (long k = 2; k <= size; k <<= 1) {
+            for (long j = k >>> 1; j >= 1; j >>>= 1) {
+                pool.invoke(new StageTask(arr, 0, size >>> 1, k, j, j == k >>> 1));
+                SortMetrics.phase();
+            }
+        }
+    }
+    
+    /**
+     * One step (k, j) of the network over pair indices [lo, hi)
+     */
+    private static class StageTask extends RecursiveAction {
+        private final OffHeapIntArray arr;
+        private final long lo, hi;
+        private final long k, j;
+        private final boolean mirror;
+        
+        StageTask(OffHeapIntArray arr, long lo, long hi, long k, long j, boolean mirror) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.k = k;
+            this.j = j;
+            this.mirror = mirror;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo > STAGE_GRAIN) {
+                long mid = (lo + hi) >>> 1;
+                invokeAll(new StageTask(arr, lo, mid, k, j, mirror), new StageTask(arr, mid, hi, k, j, mirror));
+                return;
+            }
+            long startTime = SortMetrics.startTimer();
+            long n = arr.length();
+            long lowMask = j - 1;
+            for (long p = lo; p < hi; p++) {
+                // Pair p compares element i, whose bit j is clear, with its partner
+                long i = ((p & ~lowMask) << 1) | (p & lowMask);
+                if (i >= n) break; // i grows with p
+                long partner = mirror ? i ^ (k - 1) : i + j;
+                if (partner < n) {
+                    int a = arr.get(i), b = arr.get(partner);
+                    if (a > b) {
+                        arr.set(i, b);
+                        arr.set(partner, a);
+                    }
+                }
+            }
+            SortMetrics.compared(hi - lo);
+            SortMetrics.busy(startTime);
+        }
+    }
+}
\ No newline at end of file
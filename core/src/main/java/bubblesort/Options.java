@@ -0,0 +1,83 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal parser for "--name value", "--name=value" and "--flag" command-line options
+ */
+public class Options {
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> positional = new ArrayList<>();
+    
+    public Options(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+                continue;
+            }
+            String name = arg.substring(2);
+            int eq = name.indexOf('=');
+            if (eq >= 0) {
+                values.put(name.substring(0, eq), name.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                values.put(name, args[++i]);
+            } else {
+                values.put(name, "true");
+            }
+        }
+    }
+    
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+    
+    public List<String> getPositional() {
+        return positional;
+    }
+    
+    public String getString(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+    
+    public int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid --" + name + ". Using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid --" + name + ". Using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Comma-separated list value, e.g. "--algorithm forkjoin1,forkjoin2"
+     */
+    public List<String> getList(String name, List<String> defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Arrays.asList(value.split(","));
+    }
+}
\ No newline at end of file
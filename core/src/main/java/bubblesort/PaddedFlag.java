@@ -0,0 +1,32 @@
+package bubblesort;
+
+/**
+ * Leading padding so the flag does not share a cache line with fields before it
+ */
+abstract class PaddedFlagLeftPad {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The flag value between the two pads
+ */
+abstract class PaddedFlagValue extends PaddedFlagLeftPad {
+    volatile boolean value;
+}
+
+/**
+ * A volatile boolean on its own cache line. Superclass fields are laid out first,
+ * so the value sits between two blocks of 56 padding bytes and writers of the flag
+ * do not false-share with whatever the JVM allocates next to it.
+ */
+final class PaddedFlag extends PaddedFlagValue {
+    long p11, p12, p13, p14, p15, p16, p17;
+    
+    boolean get() {
+        return value;
+    }
+    
+    void set(boolean newValue) {
+        value = newValue;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,237 @@
+package bubblesort;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cheap measurements of how sorted an array already is. Descents and ascents are counted
+ * exactly with a parallel scan; inversions, local disorder and duplicates are estimated
+ * from a fixed-size random sample, so the cost stays far below that of any sort. A sampled
+ * claim of only local disorder can be confirmed exactly with isLocallyOrdered.
+ */
+public final class PresortednessProbe {
+    private static final int SAMPLES = 4096;
+    private static final int SCAN_CHUNK = 1 << 16;
+    
+    /**
+     * Distance at which local disorder is sampled; odd-even transposition needs about
+     * as many rounds as elements are displaced, so inversions this far apart rule it out
+     */
+    public static final int LOCAL_DISTANCE = 64;
+    
+    private PresortednessProbe() {
+    }
+    
+    /**
+     * The shape of an input array
+     */
+    public static class Profile {
+        private final int length;
+        private final long descents;
+        private final long ascents;
+        private final double inversionRatio;
+        private final double farInversionRatio;
+        private final double distinctRatio;
+        
+        Profile(int length, long descents, long ascents, double inversionRatio, double farInversionRatio,
+                double distinctRatio) {
+            this.length = length;
+            this.descents = descents;
+            this.ascents = ascents;
+            this.inversionRatio = inversionRatio;
+            this.farInversionRatio = farInversionRatio;
+            this.distinctRatio = distinctRatio;
+        }
+        
+        public int getLength() {
+            return length;
+        }
+        
+        /**
+         * Number of maximal non-decreasing runs (descents + 1)
+         */
+        public long getRuns() {
+            return descents + 1;
+        }
+        
+        public boolean isSorted() {
+            return descents == 0;
+        }
+        
+        /**
+         * True if the array never increases, so reversing it sorts it
+         */
+        public boolean isReversed() {
+            return ascents == 0 && descents > 0;
+        }
+        
+        /**
+         * Estimated fraction of all pairs i < j with a[i] > a[j]; about 0.5 for random data
+         */
+        public double getInversionRatio() {
+            return inversionRatio;
+        }
+        
+        /**
+         * Estimated fraction of pairs LOCAL_DISTANCE apart that are out of order
+         */
+        public double getFarInversionRatio() {
+            return farInversionRatio;
+        }
+        
+        /**
+         * Estimated fraction of distinct values
+         */
+        public double getDistinctRatio() {
+            return distinctRatio;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("n=%d, runs=%d, inversions~%.4f, far inversions~%.4f, distinct~%.3f",
+                length, getRuns(), inversionRatio, farInversionRatio, distinctRatio);
+        }
+    }
+    
+    /**
+     * Profiles the array, scanning it in parallel on the pool
+     */
+    public static Profile probe(int[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        if (n < 2) {
+            return new Profile(n, 0, 0, 0, 0, 1);
+        }
+        long[] counts = pool.invoke(new DirectionCount(arr, 0, n - 1));
+        
+        SplittableRandom random = new SplittableRandom(n);
+        int samples = Math.min(SAMPLES, n);
+        long inversions = 0;
+        long farInversions = 0;
+        int farSamples = 0;
+        int[] values = new int[samples];
+        for (int s = 0; s < samples; s++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if ((i < j && arr[i] > arr[j]) || (j < i && arr[j] > arr[i])) {
+                inversions++;
+            }
+            if (n > LOCAL_DISTANCE) {
+                int k = random.nextInt(n - LOCAL_DISTANCE);
+                if (arr[k] > arr[k + LOCAL_DISTANCE]) {
+                    farInversions++;
+                }
+                farSamples++;
+            }
+            values[s] = arr[i];
+        }
+        
+        Arrays.sort(values);
+        int distinct = 1;
+        for (int s = 1; s < samples; s++) {
+            if (values[s] != values[s - 1]) {
+                distinct++;
+            }
+        }
+        
+        return new Profile(n, counts[0], counts[1], (double) inversions / samples,
+            farSamples == 0 ? 0 : (double) farInversions / farSamples, (double) distinct / samples);
+    }
+    
+    /**
+     * Whether every pair of elements at least LOCAL_DISTANCE apart is in order, checked
+     * exactly with a parallel linear scan. If so, no element is LOCAL_DISTANCE or more
+     * positions from where a stable sort would put it.
+     */
+    public static boolean isLocallyOrdered(int[] arr, ForkJoinPool pool) {
+        return pool.invoke(new LocalOrderCheck(arr, 0, arr.length));
+    }
+    
+    /**
+     * Checks the pairs whose right element lies in [start, end) on the calling thread.
+     * Pairs further apart than 2 * LOCAL_DISTANCE follow by transitivity from those
+     * between LOCAL_DISTANCE and 2 * LOCAL_DISTANCE, so each element is compared with the
+     * running maximum of a window that restarts at every LOCAL_DISTANCE boundary and reaches
+     * back at least 2 * LOCAL_DISTANCE - 1 positions.
+     */
+    private static boolean isLocallyOrdered(int[] arr, int start, int end) {
+        int from = Math.max(start, LOCAL_DISTANCE);
+        int max = Integer.MIN_VALUE;
+        for (int j = from; j < end; j++) {
+            if (j == from || j % LOCAL_DISTANCE == 0) {
+                max = Integer.MIN_VALUE;
+                for (int i = Math.max(0, j - j % LOCAL_DISTANCE - 2 * LOCAL_DISTANCE); i < j - LOCAL_DISTANCE; i++) {
+                    max = Math.max(max, arr[i]);
+                }
+            }
+            max = Math.max(max, arr[j - LOCAL_DISTANCE]);
+            if (max > arr[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Counts descents and ascents over the adjacent pairs with left index in [start, end)
+     */
+    private static class DirectionCount extends RecursiveTask<long[]> {
+        private final int[] arr;
+        private final int start, end;
+        
+        DirectionCount(int[] arr, int start, int end) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected long[] compute() {
+            if (end - start <= SCAN_CHUNK) {
+                long descents = 0, ascents = 0;
+                for (int i = start; i < end; i++) {
+                    if (arr[i] > arr[i + 1]) {
+                        descents++;
+                    } else if (arr[i] < arr[i + 1]) {
+                        ascents++;
+                    }
+                }
+                return new long[] {descents, ascents};
+            }
+            int mid = (start + end) >>> 1;
+            DirectionCount right = new DirectionCount(arr, mid, end);
+            right.fork();
+            long[] left = new DirectionCount(arr, start, mid).compute();
+            long[] other = right.join();
+            return new long[] {left[0] + other[0], left[1] + other[1]};
+        }
+    }
+    
+    /**
+     * Checks the pairs whose right element lies in [start, end); each half only reads
+     * backwards, so the halves are independent
+     */
+    private static class LocalOrderCheck extends RecursiveTask<Boolean> {
+        private final int[] arr;
+        private final int start, end;
+        
+        LocalOrderCheck(int[] arr, int start, int end) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected Boolean compute() {
+            if (end - start <= SCAN_CHUNK) {
+                return isLocallyOrdered(arr, start, end);
+            }
+            int mid = (start + end) >>> 1;
+            LocalOrderCheck right = new LocalOrderCheck(arr, mid, end);
+            right.fork();
+            boolean left = new LocalOrderCheck(arr, start, mid).compute();
+            return right.join() && left;
+        }
+    }
+}
\ No newline at end of file
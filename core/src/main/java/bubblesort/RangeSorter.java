@@ -0,0 +1,14 @@
+package bubblesort;
+
+/**
+ * A sequential kernel that sorts the range [from, to) of an array in place.
+ * Matches the shape of Arrays.sort(int[], int, int), so that can be plugged in too.
+ */
+@FunctionalInterface
+public interface RangeSorter {
+    
+    /**
+     * Sorts arr[from, to) in ascending order
+     */
+    void sort(int[] arr, int from, int to);
+}
\ No newline at end of file
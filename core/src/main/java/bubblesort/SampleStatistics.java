@@ -0,0 +1,108 @@
+package bubblesort;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics over a set of timing samples in nanoseconds
+ */
+public class SampleStatistics {
+    private final long[] sorted;
+    
+    public SampleStatistics(long[] samplesNanos) {
+        if (samplesNanos.length == 0) {
+            throw new IllegalArgumentException("No samples");
+        }
+        this.sorted = samplesNanos.clone();
+        Arrays.sort(sorted);
+    }
+    
+    public int count() {
+        return sorted.length;
+    }
+    
+    public long min() {
+        return sorted[0];
+    }
+    
+    public long max() {
+        return sorted[sorted.length - 1];
+    }
+    
+    public double mean() {
+        double sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        return sum / sorted.length;
+    }
+    
+    public long median() {
+        return percentile(50);
+    }
+    
+    /**
+     * Nearest-rank percentile, p in (0, 100]
+     */
+    public long percentile(double p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+    
+    /**
+     * One-sided Mann-Whitney U test: the probability of seeing samples a at least this much
+     * larger than samples b if both came from the same distribution. Uses the normal
+     * approximation with tie and continuity corrections, which is adequate from about
+     * eight samples per side.
+     */
+    public static double mannWhitneyGreaterP(long[] a, long[] b) {
+        int n1 = a.length, n2 = b.length, n = n1 + n2;
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("No samples");
+        }
+        long[][] pooled = new long[n][];
+        for (int i = 0; i < n; i++) {
+            pooled[i] = new long[] {i < n1 ? a[i] : b[i - n1], i < n1 ? 1 : 0};
+        }
+        Arrays.sort(pooled, (x, y) -> Long.compare(x[0], y[0]));
+        
+        // Average ranks over ties, summed for a
+        double rankSumA = 0, tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && pooled[j][0] == pooled[i][0]) j++;
+            double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (pooled[k][1] == 1) rankSumA += rank;
+            }
+            long t = j - i;
+            tieTerm += t * t * t - t;
+            i = j;
+        }
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1; // Every sample equal
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+    
+    /**
+     * Standard normal CDF via the Abramowitz and Stegun 7.1.26 erf approximation (error below 1.5e-7)
+     */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+            + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+    
+    /**
+     * Converts nanoseconds to milliseconds for reporting
+     */
+    public static double toMillis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package bubblesort;
+
+/**
+ * Scalar compare-and-swap loops, the same ones the sorts have always used
+ */
+final class ScalarKernels implements CompareExchangeKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+    
+    private ScalarKernels() {
+    }
+    
+    @Override
+    public String name() {
+        return "scalar";
+    }
+    
+    @Override
+    public boolean oddEvenPairs(int[] arr, int first, int to) {
+        boolean changed = false;
+        int swaps = 0;
+        for (int i = first; i + 1 < to; i += 2) {
+            if (arr[i] > arr[i + 1]) {
+                ArrayUtils.swap(arr, i, i + 1);
+                changed = true;
+                swaps++;
+            }
+        }
+        SortMetrics.compared(Math.max(0, to - first) / 2);
+        SortMetrics.swapped(swaps);
+        return changed;
+    }
+    
+    @Override
+    public void compareExchangeRun(int[] arr, int i, int j, int count, boolean ascending) {
+        int swaps = 0;
+        for (int end = i + count; i < end; i++) {
+            if (ascending == (arr[i] > arr[i + j])) {
+                ArrayUtils.swap(arr, i, i + j);
+                swaps++;
+            }
+        }
+        SortMetrics.compared(Math.max(0, count));
+        SortMetrics.swapped(swaps);
+    }
+    
+    @Override
+    public void bitonicStage(int[] arr, int from, int to, int k, int j) {
+        for (int block = from; block < to; block += 2 * j) {
+            // Bit k is constant across the block since k > j
+            compareExchangeRun(arr, block, j, j, (block & k) == 0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package bubblesort;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Measures how each parallel algorithm scales: every algorithm runs over a grid of sizes
+ * and thread counts through SortRunner, and the sweep reports speedup and parallel
+ * efficiency against the same algorithm on one thread, plus a least-squares fit of
+ * Amdahl's serial fraction. Amdahl's law T(p) = T(1) * (s + (1 - s) / p) gives
+ * 1/speedup - 1/p = s * (1 - 1/p), a line through the origin, so s = sum(x * y) / sum(x * x)
+ * with x = 1 - 1/p and y = 1/speedup - 1/p.
+ *
+ * Usage: ScalingSweep [--algorithm name[,name...]] [--sizes n[,n...]] [--threads p[,p...]]
+ *                     [--threshold n] [--warmup n] [--reps n] [--seed n]
+ *                     [--distribution name[:parameter]] [--csv file] [--json file]
+ */
+public class ScalingSweep {
+    
+    public static void main(String[] args) throws IOException {
+        Options options = new Options(args);
+        List<String> names = options.getList("algorithm", parallelAlgorithms());
+        List<Integer> sizes = toInts(options.getList("sizes", List.of("10000", "100000")));
+        // Ascending and distinct, starting at one thread, so every speedup has its baseline
+        TreeSet<Integer> threadCounts = new TreeSet<>(List.of(1));
+        for (int threads : toInts(options.getList("threads", defaultThreadCounts()))) {
+            if (threads < 1) {
+                System.err.println("Invalid thread count: " + threads + ". Skipping it.");
+            } else {
+                threadCounts.add(threads);
+            }
+        }
+        int threshold = options.getInt("threshold", SortContext.DEFAULT_THRESHOLD);
+        int warmups = options.getInt("warmup", 2);
+        int repetitions = options.getInt("reps", 5);
+        long seed = options.getLong("seed", 42);
+        InputGenerator generator = InputGenerator.fromOptions(options);
+        
+        System.out.printf("%-22s %10s %8s %12s %10s %10s %8s%n",
+            "Algorithm", "Size", "Threads", "Median (ms)", "Speedup", "Efficiency", "Correct");
+        List<Point> points = new ArrayList<>();
+        for (int size : sizes) {
+            int[] input = generator.generate(size, seed);
+            for (String name : names) {
+                SortAlgorithm algorithm = SortAlgorithms.get(name);
+                double baseline = 0;
+                for (int threads : threadCounts) {
+                    SortRunner.Result result;
+                    try (SortContext ctx = new SortContext(threads, threshold)) {
+                        result = SortRunner.run(name, algorithm, input, ctx, warmups, repetitions);
+                    }
+                    SampleStatistics stats = result.statistics();
+                    if (threads == 1) {
+                        baseline = stats.median();
+                    }
+                    Point point = new Point(name, size, threads, stats.median(), stats.min(), baseline / stats.median(),
+                        result.isCorrect());
+                    points.add(point);
+                    System.out.printf("%-22s %10d %8d %12.3f %10.2f %10.2f %8s%n", name, size, threads,
+                        SampleStatistics.toMillis(point.medianNanos), point.speedup, point.efficiency(), point.correct);
+                }
+            }
+        }
+        
+        List<Fit> fits = new ArrayList<>();
+        for (String name : names) {
+            for (int size : sizes) {
+                fits.add(fit(points, name, size));
+            }
+            fits.add(fit(points, name, -1));
+        }
+        System.out.println();
+        System.out.printf("%-22s %10s %16s %14s%n", "Algorithm", "Size", "Serial fraction", "Max speedup");
+        for (Fit f : fits) {
+            System.out.printf("%-22s %10s %16.4f %14s%n", f.algorithm, f.size < 0 ? "all" : String.valueOf(f.size),
+                f.serialFraction, f.serialFraction > 0 ? String.format("%.1f", 1 / f.serialFraction) : "unbounded");
+        }
+        
+        String csv = options.getString("csv", null);
+        if (csv != null) {
+            writeCsv(csv, points);
+            System.out.println("Wrote " + csv);
+        }
+        String json = options.getString("json", null);
+        if (json != null) {
+            writeJson(json, points, fits, threshold, warmups, repetitions);
+            System.out.println("Wrote " + json);
+        }
+    }
+    
+    /**
+     * One measured cell of the grid
+     */
+    static class Point {
+        final String algorithm;
+        final int size, threads;
+        final double medianNanos, minNanos, speedup;
+        final boolean correct;
+        
+        Point(String algorithm, int size, int threads, double medianNanos, double minNanos, double speedup,
+              boolean correct) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.threads = threads;
+            this.medianNanos = medianNanos;
+            this.minNanos = minNanos;
+            this.speedup = speedup;
+            this.correct = correct;
+        }
+        
+        double efficiency() {
+            return speedup / threads;
+        }
+    }
+    
+    /**
+     * Amdahl fit over the points of one algorithm, for one size or all sizes (size -1)
+     */
+    static class Fit {
+        final String algorithm;
+        final int size;
+        final double serialFraction;
+        
+        Fit(String algorithm, int size, double serialFraction) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.serialFraction = serialFraction;
+        }
+    }
+    
+    static Fit fit(List<Point> points, String algorithm, int size) {
+        double sxy = 0, sxx = 0;
+        for (Point p : points) {
+            if (!p.algorithm.equals(algorithm) || (size >= 0 && p.size != size) || p.threads == 1) continue;
+            double x = 1 - 1.0 / p.threads;
+            double y = 1 / p.speedup - 1.0 / p.threads;
+            sxy += x * y;
+            sxx += x * x;
+        }
+        // Slower than one thread would fit above 1; clamp so the bound stays meaningful
+        double s = sxx == 0 ? Double.NaN : Math.max(0, Math.min(1, sxy / sxx));
+        return new Fit(algorithm, size, s);
+    }
+    
+    private static void writeCsv(String file, List<Point> points) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file)))) {
+            out.println("algorithm,size,threads,median_ms,min_ms,speedup,efficiency,correct");
+            for (Point p : points) {
+                out.printf(Locale.ROOT, "%s,%d,%d,%.4f,%.4f,%.4f,%.4f,%s%n", p.algorithm, p.size, p.threads,
+                    SampleStatistics.toMillis(p.medianNanos), SampleStatistics.toMillis(p.minNanos), p.speedup,
+                    p.efficiency(), p.correct);
+            }
+        }
+    }
+    
+    private static void writeJson(String file, List<Point> points, List<Fit> fits, int threshold, int warmups,
+                                  int repetitions) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file)))) {
+            out.println("{");
+            out.printf(Locale.ROOT, "  \"jvm\": \"%s\",%n", System.getProperty("java.vm.version"));
+            out.printf(Locale.ROOT, "  \"cores\": %d,%n", Runtime.getRuntime().availableProcessors());
+            out.printf(Locale.ROOT, "  \"threshold\": %d, \"warmup\": %d, \"reps\": %d,%n", threshold, warmups, repetitions);
+            out.println("  \"points\": [");
+            for (int i = 0; i < points.size(); i++) {
+                Point p = points.get(i);
+                out.printf(Locale.ROOT, "    {\"algorithm\": \"%s\", \"size\": %d, \"threads\": %d, \"medianMs\": %.4f, "
+                        + "\"minMs\": %.4f, \"speedup\": %.4f, \"efficiency\": %.4f, \"correct\": %s}%s%n",
+                    p.algorithm, p.size, p.threads, SampleStatistics.toMillis(p.medianNanos),
+                    SampleStatistics.toMillis(p.minNanos), p.speedup, p.efficiency(), p.correct,
+                    i + 1 < points.size() ? "," : "");
+            }
+            out.println("  ],");
+            out.println("  \"amdahl\": [");
+            for (int i = 0; i < fits.size(); i++) {
+                Fit f = fits.get(i);
+                out.printf(Locale.ROOT, "    {\"algorithm\": \"%s\", \"size\": %s, \"serialFraction\": %s}%s%n",
+                    f.algorithm, f.size < 0 ? "\"all\"" : String.valueOf(f.size),
+                    Double.isNaN(f.serialFraction) ? "null" : String.format(Locale.ROOT, "%.6f", f.serialFraction),
+                    i + 1 < fits.size() ? "," : "");
+            }
+            out.println("  ]");
+            out.println("}");
+        }
+    }
+    
+    private static List<String> parallelAlgorithms() {
+        List<String> names = new ArrayList<>();
+        for (String name : SortAlgorithms.names()) {
+            if (SortAlgorithms.isParallel(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Powers of two up to the core count, and the core count itself
+     */
+    private static List<String> defaultThreadCounts() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        TreeSet<Integer> counts = new TreeSet<>();
+        for (int p = 1; p <= cores; p *= 2) {
+            counts.add(p);
+        }
+        counts.add(cores);
+        List<String> list = new ArrayList<>();
+        for (int p : counts) {
+            list.add(String.valueOf(p));
+        }
+        return list;
+    }
+    
+    static List<Integer> toInts(List<String> values) {
+        List<Integer> ints = new ArrayList<>();
+        for (String value : values) {
+            try {
+                ints.add(Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid number in list: " + value + ". Skipping it.");
+            }
+        }
+        return ints;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package bubblesort;
+
+/**
+ * Sequential (standard) implementation of bubble sort
+ */
+public class SequentialBubbleSort {
+    
+    /**
+     * Standard sequential bubble sort implementation
+     */
+    public static void sequentialBubbleSort(int[] arr) {
+        int n = arr.length;
+        for (int i = 0; i < n - 1; i++) {
+            boolean swapped = false;
+            int swaps = 0;
+            for (int j = 0; j < n - i - 1; j++) {
+                if (arr[j] > arr[j + 1]) {
+                    ArrayUtils.swap(arr, j, j + 1);
+                    swapped = true;
+                    swaps++;
+                }
+            }
+            SortMetrics.compared(n - i - 1);
+            SortMetrics.swapped(swaps);
+            SortMetrics.phase();
+            if (!swapped) break; // Array is sorted
+        }
+    }
+}
\ No newline at end of file
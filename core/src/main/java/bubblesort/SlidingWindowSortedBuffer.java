@@ -0,0 +1,144 @@
+package bubblesort;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Sorted view over the most recent capacity values of a stream. Values are kept in
+ * segments of consecutive arrivals, each holding its values in arrival order and sorted.
+ * New values are sorted with a registered algorithm and merged into the newest segment;
+ * once the window is over capacity the oldest values are removed from the oldest segment
+ * and whole segments are dropped. Appending b values costs O(b log b + segmentSize)
+ * whatever the capacity, and a snapshot holds one run per segment.
+ *
+ * One thread at a time appends; any thread may take snapshots concurrently.
+ */
+public class SlidingWindowSortedBuffer {
+    private final int capacity;
+    private final int segmentSize;
+    private final SortAlgorithm algorithm;
+    private final SortContext ctx;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private int size;
+    private volatile int[][] runs = new int[0][];
+    
+    /**
+     * Window with segments of a sixteenth of the capacity, at most 16K values so that
+     * appends to very large windows stay cheap
+     */
+    public SlidingWindowSortedBuffer(int capacity, SortContext ctx) {
+        this(capacity, Math.max(64, Math.min(capacity / 16, 1 << 14)), SortAlgorithms.get("bitonic-parallel"), ctx);
+    }
+    
+    public SlidingWindowSortedBuffer(int capacity, int segmentSize, SortAlgorithm algorithm, SortContext ctx) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        this.algorithm = algorithm;
+        this.ctx = ctx;
+    }
+    
+    /**
+     * Values of consecutive arrivals; arrivals[start, count) are still in the window
+     */
+    private static class Segment {
+        final int[] arrivals;
+        int start, count;
+        int[] sorted = new int[0]; // Replaced, never modified, so snapshots can share it
+        
+        Segment(int segmentSize) {
+            arrivals = new int[segmentSize];
+        }
+    }
+    
+    public void append(int[] batch) {
+        append(batch, 0, batch.length);
+    }
+    
+    /**
+     * Adds batch[from, to) as the newest values, evicting the oldest beyond capacity
+     */
+    public synchronized void append(int[] batch, int from, int to) {
+        from = Math.max(from, to - capacity); // Older values would be evicted right away
+        while (from < to) {
+            Segment newest = segments.peekLast();
+            if (newest == null || newest.count == segmentSize) {
+                newest = new Segment(segmentSize);
+                segments.addLast(newest);
+            }
+            int take = Math.min(to - from, segmentSize - newest.count);
+            System.arraycopy(batch, from, newest.arrivals, newest.count, take);
+            int[] part = Arrays.copyOfRange(batch, from, from + take);
+            algorithm.sort(part, ctx);
+            newest.sorted = SortedSnapshot.merge(newest.sorted, part, 0, take);
+            newest.count += take;
+            size += take;
+            from += take;
+        }
+        evict();
+        
+        int[][] next = new int[segments.size()][];
+        int i = 0;
+        for (Segment segment : segments) {
+            next[i++] = segment.sorted;
+        }
+        runs = next;
+    }
+    
+    private void evict() {
+        while (size > capacity) {
+            Segment oldest = segments.peekFirst();
+            int remove = Math.min(size - capacity, oldest.count - oldest.start);
+            if (remove == oldest.count - oldest.start) {
+                segments.pollFirst();
+            } else {
+                int[] gone = Arrays.copyOfRange(oldest.arrivals, oldest.start, oldest.start + remove);
+                Arrays.sort(gone);
+                oldest.sorted = removeAll(oldest.sorted, gone);
+                oldest.start += remove;
+            }
+            size -= remove;
+        }
+    }
+    
+    /**
+     * The sorted array minus the sorted multiset gone, which it contains
+     */
+    private static int[] removeAll(int[] sorted, int[] gone) {
+        int[] kept = new int[sorted.length - gone.length];
+        int j = 0, k = 0;
+        for (int value : sorted) {
+            if (j < gone.length && gone[j] == value) {
+                j++;
+            } else {
+                kept[k++] = value;
+            }
+        }
+        return kept;
+    }
+    
+    public int size() {
+        int size = 0;
+        for (int[] run : runs) {
+            size += run.length;
+        }
+        return size;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Current window contents; costs one reference per segment and never blocks appends
+     */
+    public SortedSnapshot snapshot() {
+        return new SortedSnapshot(runs);
+    }
+}
\ No newline at end of file
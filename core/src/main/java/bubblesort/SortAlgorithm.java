@@ -0,0 +1,15 @@
+package bubblesort;
+
+/**
+ * A sort that can be run by the shared driver and benchmarks.
+ * Implementations sort the whole array in place and take their pool,
+ * parallelism and task threshold from the context.
+ */
+@FunctionalInterface
+public interface SortAlgorithm {
+    
+    /**
+     * Sorts the array in ascending order
+     */
+    void sort(int[] a, SortContext ctx);
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of every sort available to the driver, by name
+ */
+public final class SortAlgorithms {
+    private static final Map<String, SortAlgorithm> ALGORITHMS = new LinkedHashMap<>();
+    private static final Set<String> PARALLEL = new LinkedHashSet<>();
+    
+    static {
+        register("sequential", false, (a, ctx) -> SequentialBubbleSort.sequentialBubbleSort(a));
+        register("odd-even", false, (a, ctx) -> OddEvenSort.oddEvenSort(a, ctx.getKernels()));
+        register("odd-even-tiled", false, (a, ctx) ->
+            TiledOddEvenSort.tiledOddEvenSort(a, ctx.getTileSize(), ctx.getKernels()));
+        register("odd-even-block", true, (a, ctx) ->
+            OddEvenSort.blockOddEvenSort(a, ctx.getPool(), ctx.getParallelism(), ctx.getParallelism(), OddEvenSort::oddEvenSort,
+                ctx.scratch(a.length)));
+        register("bitonic", false, (a, ctx) ->
+            BitonicSort.bitonicSort(a, ctx.getKernels(), ctx.scratch(ArrayUtils.nextPowerOfTwo(a.length))));
+        register("bitonic-parallel", true, (a, ctx) -> BitonicSort.parallelBitonicSort(a, ctx.getPool(),
+            ctx.getThreshold(), ctx.getKernels(), ctx.scratch(ArrayUtils.nextPowerOfTwo(a.length))));
+        register("multithreaded", true, (a, ctx) -> {
+            try {
+                MultithreadedBubbleSort.multithreadedBubbleSort(a, ctx.getPool(), ctx.getParallelism(),
+                    ctx.scratch(a.length), ctx.getLeafSorter());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Sorting interrupted", e);
+            }
+        });
+        register("forkjoin1", true, (a, ctx) ->
+            ForkJoinBubbleSort1.parallelBubbleSort(a, ctx.getPool(), ctx.getThreshold(), ctx.getKernels()));
+        register("forkjoin1-barrier", true, (a, ctx) ->
+            ForkJoinBubbleSort1.persistentWorkerBubbleSort(a, ctx.getPool(), ctx.getParallelism(), ctx.getThreshold()));
+        register("forkjoin1-tiled", true, (a, ctx) -> TiledOddEvenSort.parallelTiledOddEvenSort(
+            a, ctx.getPool(), ctx.getParallelism(), ctx.getTileSize(), ctx.getKernels()));
+        register("comb-parallel", true, (a, ctx) ->
+            CombSort.parallelCombSort(a, ctx.getPool(), ctx.getParallelism(), ctx.getThreshold(), ctx.getKernels()));
+        register("cocktail-parallel", true, (a, ctx) ->
+            CocktailShakerSort.parallelCocktailShakerSort(a, ctx.getPool(), ctx.getThreshold()));
+        register("forkjoin2", true, (a, ctx) ->
+            ForkJoinBubbleSort2.parallelBubbleSort(a, ctx.getPool(), ctx.getThreshold(), ctx.scratch(a.length),
+                ctx.getLeafSorter()));
+        register("forkjoin2-pingpong", true, (a, ctx) ->
+            ForkJoinBubbleSort2.pingPongBubbleSort(a, ctx.getPool(), ctx.getThreshold(), false, ctx.scratch(a.length),
+                ctx.getLeafSorter()));
+        register("adaptive", true, new AdaptiveSort());
+        
+        // Library baselines
+        register("arrays-sort", false, (a, ctx) -> Arrays.sort(a));
+        register("arrays-parallel-sort", true, (a, ctx) ->
+            // Tasks forked from inside a pool stay in that pool, so this honours the parallelism
+            ctx.getPool().submit(() -> Arrays.parallelSort(a)).join());
+    }
+    
+    private SortAlgorithms() {
+    }
+    
+    /**
+     * Adds an algorithm under the given name, replacing any previous registration
+     */
+    public static synchronized void register(String name, boolean parallel, SortAlgorithm algorithm) {
+        ALGORITHMS.put(name, algorithm);
+        if (parallel) {
+            PARALLEL.add(name);
+        } else {
+            PARALLEL.remove(name);
+        }
+    }
+    
+    /**
+     * Looks up an algorithm by name
+     */
+    public static synchronized SortAlgorithm get(String name) {
+        SortAlgorithm algorithm = ALGORITHMS.get(name);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown algorithm: " + name + " (available: " + names() + ")");
+        }
+        return algorithm;
+    }
+    
+    /**
+     * Whether the named algorithm uses more than one thread
+     */
+    public static synchronized boolean isParallel(String name) {
+        get(name);
+        return PARALLEL.contains(name);
+    }
+    
+    /**
+     * Names of all registered algorithms in registration order
+     */
+    public static synchronized List<String> names() {
+        return Collections.unmodifiableList(new ArrayList<>(ALGORITHMS.keySet()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package bubblesort;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Execution resources shared by the sorts: one long-lived ForkJoinPool,
+ * the parallelism it was created with, the task split threshold, the tile
+ * size of the tiled odd-even sorts and a scratch buffer that is kept between
+ * sorts. The scratch buffer serves one sort at a time.
+ */
+public class SortContext implements AutoCloseable {
+    public static final int DEFAULT_THRESHOLD = 1000; // Threshold for Fork/Join tasks
+    
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int threshold;
+    private final CompareExchangeKernels kernels;
+    private final RangeSorter leafSorter;
+    private final int tileSize;
+    private final boolean ownsPool;
+    private final boolean zeroAllocation;
+    private int[] scratch = new int[0];
+    
+    public SortContext(int parallelism) {
+        this(parallelism, DEFAULT_THRESHOLD);
+    }
+    
+    public SortContext(int parallelism, int threshold) {
+        this(parallelism, threshold, CompareExchangeKernels.scalar());
+    }
+    
+    public SortContext(int parallelism, int threshold, CompareExchangeKernels kernels) {
+        this(parallelism, threshold, kernels, null);
+    }
+    
+    /**
+     * A context whose merge-based engines sort their leaf chunks with leafSorter, for example
+     * SortingNetworks::sort, instead of bubble sort; null keeps the bubble leaves
+     */
+    public SortContext(int parallelism, int threshold, CompareExchangeKernels kernels, RangeSorter leafSorter) {
+        this(parallelism, threshold, kernels, leafSorter, TiledOddEvenSort.autoTileSize());
+    }
+    
+    /**
+     * A context whose tiled odd-even sorts use tiles of tileSize elements instead of the
+     * size derived from the L1 data cache
+     */
+    public SortContext(int parallelism, int threshold, CompareExchangeKernels kernels, RangeSorter leafSorter,
+                       int tileSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Threshold must be at least 2: " + threshold);
+        }
+        if (tileSize < 2) {
+            throw new IllegalArgumentException("Tile size must be at least 2: " + tileSize);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+        this.kernels = kernels;
+        this.leafSorter = leafSorter;
+        this.tileSize = tileSize;
+        this.ownsPool = true;
+        this.zeroAllocation = false;
+    }
+    
+    /**
+     * Zero-allocation mode: the caller supplies the pool and the scratch buffer, which
+     * must hold at least nextPowerOfTwo(n) ints for the largest array sorted. Engines then
+     * take every O(n) buffer from here and throw rather than allocate when it is too small,
+     * so steady-state sorts allocate only their small task objects. The pool is not shut
+     * down on close.
+     */
+    public SortContext(ForkJoinPool pool, int threshold, CompareExchangeKernels kernels, RangeSorter leafSorter,
+                       int[] scratch) {
+        this(pool, threshold, kernels, leafSorter, scratch, TiledOddEvenSort.autoTileSize());
+    }
+    
+    /**
+     * Zero-allocation mode with tiles of tileSize elements for the tiled odd-even sorts
+     */
+    public SortContext(ForkJoinPool pool, int threshold, CompareExchangeKernels kernels, RangeSorter leafSorter,
+                       int[] scratch, int tileSize) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Threshold must be at least 2: " + threshold);
+        }
+        if (tileSize < 2) {
+            throw new IllegalArgumentException("Tile size must be at least 2: " + tileSize);
+        }
+        this.pool = pool;
+        this.parallelism = pool.getParallelism();
+        this.threshold = threshold;
+        this.kernels = kernels;
+        this.leafSorter = leafSorter;
+        this.tileSize = tileSize;
+        this.ownsPool = false;
+        this.zeroAllocation = true;
+        this.scratch = scratch;
+    }
+    
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public int getThreshold() {
+        return threshold;
+    }
+    
+    /**
+     * Compare-exchange kernels for the odd-even and bitonic inner loops
+     */
+    public CompareExchangeKernels getKernels() {
+        return kernels;
+    }
+    
+    /**
+     * Sorter for the leaf chunks of forkjoin2 and multithreaded, or null for their bubble sorts
+     */
+    public RangeSorter getLeafSorter() {
+        return leafSorter;
+    }
+    
+    /**
+     * Tile width in elements for odd-even-tiled and forkjoin1-tiled
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+    
+    /**
+     * Whether the pool and scratch buffer were supplied by the caller
+     */
+    public boolean isZeroAllocation() {
+        return zeroAllocation;
+    }
+    
+    /**
+     * A scratch buffer of at least minLength ints with unspecified contents. It grows on
+     * demand and is kept for later sorts, except in zero-allocation mode, where a buffer
+     * that is too small is an error.
+     */
+    public int[] scratch(int minLength) {
+        if (scratch.length < minLength) {
+            if (zeroAllocation) {
+                throw new IllegalStateException("Scratch buffer of " + scratch.length + " ints is too small, "
+                    + minLength + " needed");
+            }
+            scratch = new int[minLength];
+        }
+        return scratch;
+    }
+    
+    /**
+     * Shuts down the pool after any running sort has finished, unless the caller supplied it
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.close();
+        }
+    }
+}
\ No newline at end of file
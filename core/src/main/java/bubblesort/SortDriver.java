@@ -0,0 +1,156 @@
+package bubblesort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line entry point that runs any registered sort through one execution path.
+ *
+ * Usage: SortDriver [--algorithm name[,name...]|all] [--size n] [--threads n]
+ *                   [--threshold n] [--warmup n] [--reps n] [--seed n] [--list]
+ *                   [--kernels scalar|vector|vector-BITS] [--zero-alloc]
+ *                   [--distribution name[:parameter]] [--leaf bubble|network] [--tile-size n]
+ *
+ * Every algorithm is reported with the heap bytes allocated per sort across all threads
+ * and the GC pauses during its measured runs. --zero-alloc sorts with a caller-owned pool
+ * and a preallocated scratch buffer, so engines that take their buffers from the context
+ * allocate no O(n) memory.
+ *
+ * Run with -Dbubblesort.metrics=true to also print operation counts and per-thread
+ * busy/waiting time for every algorithm, and to emit the bubblesort.* JFR events.
+ */
+public class SortDriver {
+    
+    public static void main(String[] args) {
+        Options options = new Options(args);
+        if (options.has("list")) {
+            for (String name : SortAlgorithms.names()) {
+                System.out.println(name + (SortAlgorithms.isParallel(name) ? " (parallel)" : ""));
+            }
+            return;
+        }
+        
+        int arraySize = options.getInt("size", 10000);
+        int numThreads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        int threshold = options.getInt("threshold", SortContext.DEFAULT_THRESHOLD);
+        int warmups = options.getInt("warmup", 3);
+        int repetitions = options.getInt("reps", 10);
+        long seed = options.getLong("seed", 42);
+        CompareExchangeKernels kernels = CompareExchangeKernels.named(options.getString("kernels", "scalar"));
+        List<String> names = options.getList("algorithm", SortAlgorithms.names());
+        if (names.size() == 1 && names.get(0).equals("all")) {
+            names = SortAlgorithms.names();
+        }
+        
+        InputGenerator generator = InputGenerator.fromOptions(options);
+        String leaf = options.getString("leaf", "bubble");
+        if (!leaf.equals("bubble") && !leaf.equals("network")) {
+            System.err.println("Invalid --leaf. Using default: bubble");
+            leaf = "bubble";
+        }
+        RangeSorter leafSorter = leaf.equals("network") ? SortingNetworks::sort : null;
+        int tileSize = options.getInt("tile-size", TiledOddEvenSort.autoTileSize());
+        if (tileSize < 2) {
+            System.err.println("Invalid --tile-size. Using default: " + TiledOddEvenSort.autoTileSize());
+            tileSize = TiledOddEvenSort.autoTileSize();
+        }
+        
+        System.out.println("Array size: " + arraySize);
+        System.out.println("Input distribution: " + generator);
+        System.out.println("Number of threads: " + numThreads);
+        System.out.println("Task threshold: " + threshold);
+        System.out.println("Compare-exchange kernels: " + kernels.name());
+        System.out.println("Leaf sorter: " + leaf);
+        System.out.println("Tile size: " + tileSize);
+        if (options.getString("kernels", "scalar").startsWith("vector") && !CompareExchangeKernels.vectorModuleAvailable()) {
+            System.out.println("Note: jdk.incubator.vector is not available, run with --add-modules jdk.incubator.vector");
+        }
+        System.out.println("Warmup iterations: " + warmups + ", measured repetitions: " + repetitions);
+        boolean zeroAllocation = options.has("zero-alloc");
+        if (zeroAllocation) {
+            System.out.println("Zero-allocation mode: caller-owned pool and scratch buffer");
+        }
+        if (!AllocationMetrics.isSupported()) {
+            System.out.println("Note: this JVM cannot measure allocated bytes");
+        }
+        System.out.println();
+        System.out.printf("%-22s %12s %12s %12s %12s %12s %6s %8s %8s%n",
+            "Algorithm", "Min (ms)", "Median (ms)", "p95 (ms)", "p99 (ms)", "Alloc (KB)", "GCs", "GC (ms)", "Correct");
+        
+        boolean allCorrect = true;
+        Map<String, SortRunner.Result> results = new LinkedHashMap<>();
+        ForkJoinPool callerPool = zeroAllocation ? new ForkJoinPool(numThreads) : null;
+        try (SortContext ctx = zeroAllocation
+                ? new SortContext(callerPool, threshold, kernels, leafSorter,
+                    new int[ArrayUtils.nextPowerOfTwo(arraySize)], tileSize)
+                : new SortContext(numThreads, threshold, kernels, leafSorter, tileSize)) {
+            int[] array = generator.generate(arraySize, seed, ctx.getPool());
+            for (String name : names) {
+                SortRunner.Result result = SortRunner.run(name, SortAlgorithms.get(name), array, ctx, warmups, repetitions);
+                results.put(name, result);
+                SampleStatistics stats = result.statistics();
+                System.out.printf("%-22s %12.3f %12.3f %12.3f %12.3f %12.1f %6d %8d %8s%n", name,
+                    SampleStatistics.toMillis(stats.min()),
+                    SampleStatistics.toMillis(stats.median()),
+                    SampleStatistics.toMillis(stats.percentile(95)),
+                    SampleStatistics.toMillis(stats.percentile(99)),
+                    result.getMedianAllocatedBytes() / 1024.0,
+                    result.getGcCount(),
+                    result.getGcMillis(),
+                    result.isCorrect());
+                allCorrect &= result.isCorrect();
+            }
+            if (names.contains("adaptive")) {
+                // Reported once here rather than logged from inside the timed sorts
+                AdaptiveSort.Decision decision = AdaptiveSort.choose(array, PresortednessProbe.probe(array, ctx.getPool()), ctx);
+                System.out.println();
+                System.out.println("Adaptive choice: " + decision.getAlgorithm() + " (" + decision.getReason() + ")");
+            }
+        } finally {
+            if (callerPool != null) {
+                callerPool.close();
+            }
+        }
+        
+        if (SortMetrics.ENABLED) {
+            printMetrics(results, repetitions);
+        }
+        
+        if (!allCorrect) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Prints the instrumentation summary, averaged over the measured runs
+     */
+    private static void printMetrics(Map<String, SortRunner.Result> results, int repetitions) {
+        System.out.println();
+        System.out.println("Instrumentation (mean per measured run):");
+        System.out.printf("%-22s %14s %14s %10s %12s%n", "Algorithm", "Comparisons", "Swaps", "Phases", "Merge (MB)");
+        for (Map.Entry<String, SortRunner.Result> entry : results.entrySet()) {
+            SortMetrics.ThreadMetrics total = entry.getValue().getMetrics().getTotal();
+            System.out.printf("%-22s %14d %14d %10d %12.2f%n", entry.getKey(),
+                total.getComparisons() / repetitions, total.getSwaps() / repetitions,
+                total.getPhases() / repetitions, total.getMergeBytes() / (double) repetitions / (1 << 20));
+        }
+        
+        for (Map.Entry<String, SortRunner.Result> entry : results.entrySet()) {
+            long wallNanos = 0;
+            for (long sample : entry.getValue().getSamplesNanos()) {
+                wallNanos += sample;
+            }
+            System.out.println();
+            System.out.println(entry.getKey() + ":");
+            System.out.printf("  %-30s %12s %12s %8s%n", "Thread", "Busy (ms)", "Waiting (ms)", "Busy %");
+            for (SortMetrics.ThreadMetrics t : entry.getValue().getMetrics().getThreads()) {
+                System.out.printf("  %-30s %12.3f %12.3f %7.1f%%%n", t.getThreadName(),
+                    SampleStatistics.toMillis(t.getBusyNanos() / repetitions),
+                    SampleStatistics.toMillis(t.getWaitNanos() / repetitions),
+                    wallNanos == 0 ? 0 : 100.0 * t.getBusyNanos() / wallNanos);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+package bubblesort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Optional instrumentation of the sorts: comparisons, swaps, phases or rounds and merge
+ * bytes moved, plus per-thread busy time and time spent waiting at barriers. Enabled with
+ * -Dbubblesort.metrics=true. ENABLED is a static final, so with instrumentation off the JIT
+ * folds every guarded call site away.
+ *
+ * Each thread counts into its own padded counter block with plain writes, so recording
+ * never contends. Snapshots read the blocks of all threads; they are exact once the sort
+ * that did the work has been joined, which publishes the workers' writes.
+ */
+public final class SortMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("bubblesort.metrics");
+    
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final Queue<ThreadCounters> ALL = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadCounters> LOCAL = ThreadLocal.withInitial(() -> {
+        ThreadCounters counters = new ThreadCounters(NEXT_ID.getAndIncrement(), Thread.currentThread().getName());
+        ALL.add(counters);
+        return counters;
+    });
+    
+    private SortMetrics() {
+    }
+    
+    static void compared(long count) {
+        if (ENABLED) {
+            LOCAL.get().comparisons += count;
+        }
+    }
+    
+    static void swapped(long count) {
+        if (ENABLED) {
+            LOCAL.get().swaps += count;
+        }
+    }
+    
+    /**
+     * Records one phase or round of an algorithm, counted by the thread that drives it
+     */
+    static void phase() {
+        if (ENABLED) {
+            LOCAL.get().phases++;
+        }
+    }
+    
+    static void mergedBytes(long bytes) {
+        if (ENABLED) {
+            LOCAL.get().mergeBytes += bytes;
+        }
+    }
+    
+    /**
+     * Start time for busy() or waited(), 0 when disabled
+     */
+    static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+    
+    /**
+     * Adds the time since start to this thread's busy time
+     */
+    static void busy(long start) {
+        if (ENABLED) {
+            LOCAL.get().busyNanos += System.nanoTime() - start;
+        }
+    }
+    
+    /**
+     * Adds the time since start to this thread's waiting time and emits a BarrierWait event
+     */
+    static void waited(long start, String site) {
+        if (ENABLED) {
+            long nanos = System.nanoTime() - start;
+            LOCAL.get().waitNanos += nanos;
+            BarrierWaitEvent event = new BarrierWaitEvent();
+            if (event.shouldCommit()) {
+                event.site = site;
+                event.waitNanos = nanos;
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Current totals of every thread that has recorded anything
+     */
+    public static Snapshot snapshot() {
+        Map<Integer, ThreadMetrics> threads = new LinkedHashMap<>();
+        for (ThreadCounters c : ALL) {
+            threads.put(c.id, new ThreadMetrics(c.name, c.comparisons, c.swaps, c.phases, c.mergeBytes,
+                c.busyNanos, c.waitNanos));
+        }
+        return new Snapshot(threads);
+    }
+    
+    /**
+     * Emits a SortRun event and one WorkerActivity event per active thread for a run
+     * whose counters are the given delta
+     */
+    static void commitRunEvents(String algorithm, int size, int threads, long wallNanos, Snapshot delta) {
+        if (!ENABLED) return;
+        ThreadMetrics total = delta.getTotal();
+        SortRunEvent run = new SortRunEvent();
+        if (run.shouldCommit()) {
+            run.algorithm = algorithm;
+            run.size = size;
+            run.threads = threads;
+            run.wallNanos = wallNanos;
+            run.comparisons = total.getComparisons();
+            run.swaps = total.getSwaps();
+            run.phases = total.getPhases();
+            run.mergeBytes = total.getMergeBytes();
+            run.commit();
+        }
+        for (ThreadMetrics t : delta.getThreads()) {
+            WorkerActivityEvent activity = new WorkerActivityEvent();
+            if (activity.shouldCommit()) {
+                activity.algorithm = algorithm;
+                activity.worker = t.getThreadName();
+                activity.busyNanos = t.getBusyNanos();
+                activity.waitNanos = t.getWaitNanos();
+                activity.idleNanos = Math.max(0, wallNanos - t.getBusyNanos() - t.getWaitNanos());
+                activity.commit();
+            }
+        }
+    }
+    
+    /**
+     * Counters of one thread, or totals across threads
+     */
+    public static class ThreadMetrics {
+        private final String threadName;
+        private final long comparisons, swaps, phases, mergeBytes, busyNanos, waitNanos;
+        
+        ThreadMetrics(String threadName, long comparisons, long swaps, long phases, long mergeBytes,
+                      long busyNanos, long waitNanos) {
+            this.threadName = threadName;
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.phases = phases;
+            this.mergeBytes = mergeBytes;
+            this.busyNanos = busyNanos;
+            this.waitNanos = waitNanos;
+        }
+        
+        ThreadMetrics minus(ThreadMetrics earlier) {
+            return new ThreadMetrics(threadName, comparisons - earlier.comparisons, swaps - earlier.swaps,
+                phases - earlier.phases, mergeBytes - earlier.mergeBytes, busyNanos - earlier.busyNanos,
+                waitNanos - earlier.waitNanos);
+        }
+        
+        boolean isIdle() {
+            return comparisons == 0 && swaps == 0 && phases == 0 && mergeBytes == 0 && busyNanos == 0 && waitNanos == 0;
+        }
+        
+        public String getThreadName() {
+            return threadName;
+        }
+        
+        public long getComparisons() {
+            return comparisons;
+        }
+        
+        public long getSwaps() {
+            return swaps;
+        }
+        
+        public long getPhases() {
+            return phases;
+        }
+        
+        public long getMergeBytes() {
+            return mergeBytes;
+        }
+        
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+        
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+    }
+    
+    /**
+     * Per-thread counters at one point in time
+     */
+    public static class Snapshot {
+        private final Map<Integer, ThreadMetrics> threads;
+        
+        Snapshot(Map<Integer, ThreadMetrics> threads) {
+            this.threads = threads;
+        }
+        
+        /**
+         * What was recorded between the earlier snapshot and this one, dropping threads that did nothing
+         */
+        public Snapshot minus(Snapshot earlier) {
+            Map<Integer, ThreadMetrics> delta = new LinkedHashMap<>();
+            for (Map.Entry<Integer, ThreadMetrics> e : threads.entrySet()) {
+                ThreadMetrics before = earlier.threads.get(e.getKey());
+                ThreadMetrics d = before == null ? e.getValue() : e.getValue().minus(before);
+                if (!d.isIdle()) {
+                    delta.put(e.getKey(), d);
+                }
+            }
+            return new Snapshot(delta);
+        }
+        
+        public List<ThreadMetrics> getThreads() {
+            return Collections.unmodifiableList(new ArrayList<>(threads.values()));
+        }
+        
+        public ThreadMetrics getTotal() {
+            long comparisons = 0, swaps = 0, phases = 0, mergeBytes = 0, busy = 0, wait = 0;
+            for (ThreadMetrics t : threads.values()) {
+                comparisons += t.comparisons;
+                swaps += t.swaps;
+                phases += t.phases;
+                mergeBytes += t.mergeBytes;
+                busy += t.busyNanos;
+                wait += t.waitNanos;
+            }
+            return new ThreadMetrics("total", comparisons, swaps, phases, mergeBytes, busy, wait);
+        }
+    }
+    
+    @Name("bubblesort.SortRun")
+    @Label("Sort Run")
+    @Category("Bubble Sort")
+    @Description("Counters of one measured sort run")
+    static class SortRunEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        
+        @Label("Size")
+        int size;
+        
+        @Label("Threads")
+        int threads;
+        
+        @Label("Wall Time")
+        @Timespan
+        long wallNanos;
+        
+        @Label("Comparisons")
+        long comparisons;
+        
+        @Label("Swaps")
+        long swaps;
+        
+        @Label("Phases")
+        long phases;
+        
+        @Label("Merge Bytes")
+        @DataAmount
+        long mergeBytes;
+    }
+    
+    @Name("bubblesort.WorkerActivity")
+    @Label("Worker Activity")
+    @Category("Bubble Sort")
+    @Description("Busy, waiting and untracked time of one thread during a measured sort run")
+    static class WorkerActivityEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        
+        @Label("Worker")
+        String worker;
+        
+        @Label("Busy")
+        @Timespan
+        long busyNanos;
+        
+        @Label("Waiting")
+        @Timespan
+        long waitNanos;
+        
+        @Label("Idle")
+        @Description("Wall time neither busy nor waiting at a barrier, e.g. parked in the pool or joining")
+        @Timespan
+        long idleNanos;
+    }
+    
+    @Name("bubblesort.BarrierWait")
+    @Label("Barrier Wait")
+    @Category("Bubble Sort")
+    @Description("Time a worker spent waiting for the others at a phase barrier")
+    static class BarrierWaitEvent extends Event {
+        @Label("Site")
+        String site;
+        
+        @Label("Wait")
+        @Timespan
+        long waitNanos;
+    }
+}
+
+/**
+ * Leading padding so one thread's counters do not share a cache line with another's
+ */
+abstract class ThreadCountersLeftPad {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The counters between the two pads, written only by their owning thread
+ */
+abstract class ThreadCountersFields extends ThreadCountersLeftPad {
+    long comparisons, swaps, phases, mergeBytes, busyNanos, waitNanos;
+}
+
+/**
+ * One thread's counter block, laid out like PaddedFlag
+ */
+final class ThreadCounters extends ThreadCountersFields {
+    long p11, p12, p13, p14, p15, p16, p17;
+    final int id;
+    final String name;
+    
+    ThreadCounters(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package bubblesort;
+
+/**
+ * Runs an algorithm repeatedly on copies of one input, timing each measured run.
+ * This is the single execution path used by the driver for comparisons. Each output
+ * is checked by SortVerifier against a fingerprint of the input, so no sorted
+ * reference copy is kept.
+ */
+public final class SortRunner {
+    
+    private SortRunner() {
+    }
+    
+    /**
+     * Timings and correctness of a set of measured runs
+     */
+    public static class Result {
+        private final long[] samplesNanos;
+        private final boolean correct;
+        private final SortMetrics.Snapshot metrics;
+        private final long[] allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+        
+        Result(long[] samplesNanos, boolean correct, SortMetrics.Snapshot metrics, long[] allocatedBytes,
+               long gcCount, long gcMillis) {
+            this.samplesNanos = samplesNanos;
+            this.correct = correct;
+            this.metrics = metrics;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+        
+        public long[] getSamplesNanos() {
+            return samplesNanos.clone();
+        }
+        
+        public boolean isCorrect() {
+            return correct;
+        }
+        
+        public SampleStatistics statistics() {
+            return new SampleStatistics(samplesNanos);
+        }
+        
+        /**
+         * Counters recorded over all measured runs, or null when SortMetrics is disabled
+         */
+        public SortMetrics.Snapshot getMetrics() {
+            return metrics;
+        }
+        
+        /**
+         * Heap bytes allocated by all threads during each measured run, or -1 per run
+         * when the JVM cannot measure allocation
+         */
+        public long[] getAllocatedBytes() {
+            return allocatedBytes.clone();
+        }
+        
+        /**
+         * Median heap bytes allocated per measured run, or -1 if unsupported
+         */
+        public long getMedianAllocatedBytes() {
+            return AllocationMetrics.isSupported() ? new SampleStatistics(allocatedBytes).median() : -1;
+        }
+        
+        /**
+         * Pausing garbage collections during the measured sorts, not the copies and checks between them
+         */
+        public long getGcCount() {
+            return gcCount;
+        }
+        
+        /**
+         * Time spent in pausing garbage collections during the measured sorts
+         */
+        public long getGcMillis() {
+            return gcMillis;
+        }
+    }
+    
+    /**
+     * Performs the warmup runs, then times each measured run and checks its output
+     */
+    public static Result run(SortAlgorithm algorithm, int[] input, SortContext ctx, int warmups, int repetitions) {
+        return run("", algorithm, input, ctx, warmups, repetitions);
+    }
+    
+    /**
+     * Like run, labelling the JFR events of instrumented runs with the algorithm name
+     */
+    public static Result run(String name, SortAlgorithm algorithm, int[] input, SortContext ctx, int warmups,
+                             int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("At least one measured repetition is required");
+        }
+        int[] work = new int[input.length];
+        
+        for (int i = 0; i < warmups; i++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            algorithm.sort(work, ctx);
+        }
+        
+        SortVerifier.Fingerprint expected = SortVerifier.fingerprint(input, ctx.getPool());
+        
+        long[] samples = new long[repetitions];
+        long[] allocated = new long[repetitions];
+        long gcCount = 0;
+        long gcMillis = 0;
+        boolean correct = true;
+        SortMetrics.Snapshot first = SortMetrics.ENABLED ? SortMetrics.snapshot() : null;
+        SortMetrics.Snapshot before = first;
+        for (int i = 0; i < repetitions; i++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            // Collection counters bracket only the sort, like the allocation counter
+            long startCount = AllocationMetrics.gcCount();
+            long startMillis = AllocationMetrics.gcMillis();
+            long startBytes = AllocationMetrics.allocatedBytes();
+            long startTime = System.nanoTime();
+            algorithm.sort(work, ctx);
+            samples[i] = System.nanoTime() - startTime;
+            allocated[i] = startBytes < 0 ? -1 : AllocationMetrics.allocatedBytes() - startBytes;
+            gcCount += AllocationMetrics.gcCount() - startCount;
+            gcMillis += AllocationMetrics.gcMillis() - startMillis;
+            if (SortMetrics.ENABLED) {
+                SortMetrics.Snapshot after = SortMetrics.snapshot();
+                SortMetrics.commitRunEvents(name, input.length, ctx.getParallelism(), samples[i], after.minus(before));
+                before = after;
+            }
+            correct &= SortVerifier.verify(work, expected, ctx.getPool());
+        }
+        return new Result(samples, correct, SortMetrics.ENABLED ? before.minus(first) : null, allocated,
+            gcCount, gcMillis);
+    }
+}
\ No newline at end of file
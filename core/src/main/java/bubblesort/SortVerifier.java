@@ -0,0 +1,135 @@
+package bubblesort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks sort output in linear time and constant extra memory, without a sorted reference
+ * copy. The output must be ascending, and its multiset fingerprint must equal the one taken
+ * from the input before sorting. The fingerprint is the length plus the wrapping sum and the
+ * xor of two independent 64-bit mixes of each element, so it does not depend on order.
+ * Mixing first means that, unlike a sum or xor of the raw values, a lost or altered element
+ * is caught except with negligible probability.
+ */
+public final class SortVerifier {
+    private static final int CHUNK = 1 << 16;
+    
+    private SortVerifier() {
+    }
+    
+    /**
+     * Order-independent digest of a multiset of ints
+     */
+    public static final class Fingerprint {
+        public static final Fingerprint EMPTY = new Fingerprint(0, 0, 0);
+        
+        private final long length;
+        private final long sum;
+        private final long xor;
+        
+        Fingerprint(long length, long sum, long xor) {
+            this.length = length;
+            this.sum = sum;
+            this.xor = xor;
+        }
+        
+        /**
+         * The fingerprint of the union of both multisets
+         */
+        public Fingerprint combine(Fingerprint other) {
+            return new Fingerprint(length + other.length, sum + other.sum, xor ^ other.xor);
+        }
+        
+        public long getLength() {
+            return length;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Fingerprint f && length == f.length && sum == f.sum && xor == f.xor;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sum) * 31 + Long.hashCode(xor);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Fingerprint[n=%d, sum=%016x, xor=%016x]", length, sum, xor);
+        }
+    }
+    
+    /**
+     * Fingerprint of the whole array, computed in parallel
+     */
+    public static Fingerprint fingerprint(int[] arr, ForkJoinPool pool) {
+        return pool.invoke(new Scan(arr, 0, arr.length, false));
+    }
+    
+    /**
+     * Fingerprint of arr[from, to), on the calling thread
+     */
+    public static Fingerprint fingerprint(int[] arr, int from, int to) {
+        long sum = 0, xor = 0;
+        for (int i = from; i < to; i++) {
+            sum += mix(arr[i]);
+            xor ^= mix(arr[i] ^ 0x5bd1e995);
+        }
+        return new Fingerprint(to - from, sum, xor);
+    }
+    
+    /**
+     * Whether arr is ascending and a permutation of the input that produced expected. One
+     * parallel pass reads each element once for both checks.
+     */
+    public static boolean verify(int[] arr, Fingerprint expected, ForkJoinPool pool) {
+        Fingerprint actual = pool.invoke(new Scan(arr, 0, arr.length, true));
+        return actual != null && actual.equals(expected);
+    }
+    
+    /**
+     * SplitMix64 finaliser of the value offset by the golden gamma, so that 0 does not map to 0
+     */
+    private static long mix(int value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Fingerprints [start, end), returning null as soon as a checked range is found out of order
+     */
+    private static class Scan extends RecursiveTask<Fingerprint> {
+        private final int[] arr;
+        private final int start, end;
+        private final boolean checkOrder;
+        
+        Scan(int[] arr, int start, int end, boolean checkOrder) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+            this.checkOrder = checkOrder;
+        }
+        
+        @Override
+        protected Fingerprint compute() {
+            if (end - start <= CHUNK) {
+                if (checkOrder && !ArrayUtils.isSorted(arr, start, end)) {
+                    return null;
+                }
+                return fingerprint(arr, start, end);
+            }
+            int mid = (start + end) >>> 1;
+            if (checkOrder && arr[mid - 1] > arr[mid]) {
+                return null;
+            }
+            Scan right = new Scan(arr, mid, end, checkOrder);
+            right.fork();
+            Fingerprint left = new Scan(arr, start, mid, checkOrder).compute();
+            Fingerprint rightResult = right.join();
+            return left == null || rightResult == null ? null : left.combine(rightResult);
+        }
+    }
+}
\ No newline at end of file
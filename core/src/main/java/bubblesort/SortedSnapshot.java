@@ -0,0 +1,135 @@
+package bubblesort;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sorted view of a streaming buffer at one point in time, held as a few sorted
+ * runs that are never modified after publication. Taking a snapshot only copies the run
+ * references; rank queries search each run, and the fully merged array is built on first
+ * use and cached.
+ */
+public final class SortedSnapshot {
+    private final int[][] runs;
+    private final int size;
+    private int[] merged;
+    
+    SortedSnapshot(int[][] runs) {
+        this.runs = runs;
+        int total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+        this.size = total;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Number of values strictly less than value
+     */
+    public int rank(int value) {
+        int rank = 0;
+        for (int[] run : runs) {
+            rank += lowerBound(run, value);
+        }
+        return rank;
+    }
+    
+    /**
+     * Number of values equal to value
+     */
+    public int count(int value) {
+        return value == Integer.MAX_VALUE ? size - rank(value) : rank(value + 1) - rank(value);
+    }
+    
+    public int min() {
+        if (size == 0) throw new IllegalStateException("Empty snapshot");
+        int min = Integer.MAX_VALUE;
+        for (int[] run : runs) {
+            if (run.length > 0) min = Math.min(min, run[0]);
+        }
+        return min;
+    }
+    
+    public int max() {
+        if (size == 0) throw new IllegalStateException("Empty snapshot");
+        int max = Integer.MIN_VALUE;
+        for (int[] run : runs) {
+            if (run.length > 0) max = Math.max(max, run[run.length - 1]);
+        }
+        return max;
+    }
+    
+    /**
+     * The value at position index of the sorted order
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return mergedRuns()[index];
+    }
+    
+    /**
+     * All values in ascending order, as a new array
+     */
+    public int[] toArray() {
+        return mergedRuns().clone();
+    }
+    
+    private synchronized int[] mergedRuns() {
+        if (merged == null) {
+            // Merge neighbouring runs pairwise so every value is copied O(log runs) times
+            int[][] level = runs.length == 0 ? new int[][] {new int[0]} : runs;
+            while (level.length > 1) {
+                int[][] next = new int[(level.length + 1) / 2][];
+                for (int i = 0; i < next.length; i++) {
+                    int[] right = 2 * i + 1 < level.length ? level[2 * i + 1] : new int[0];
+                    next[i] = merge(level[2 * i], right, 0, right.length);
+                }
+                level = next;
+            }
+            merged = level[0];
+        }
+        return merged;
+    }
+    
+    /**
+     * First index in the sorted array whose value is not below value
+     */
+    static int lowerBound(int[] sorted, int value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * New array holding the sorted array a merged with the sorted range b[from, to)
+     */
+    static int[] merge(int[] a, int[] b, int from, int to) {
+        int[] dst = new int[a.length + to - from];
+        int i = 0, j = from, k = 0;
+        while (i < a.length && j < to) {
+            dst[k++] = (a[i] <= b[j]) ? a[i++] : b[j++];
+        }
+        while (i < a.length) dst[k++] = a[i++];
+        while (j < to) dst[k++] = b[j++];
+        SortMetrics.compared(dst.length);
+        SortMetrics.mergedBytes(4L * dst.length);
+        return dst;
+    }
+    
+    @Override
+    public String toString() {
+        return "SortedSnapshot" + Arrays.toString(mergedRuns());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package bubblesort;
+
+import java.util.Arrays;
+
+/**
+ * Fixed compare-exchange networks for 4, 8, 16 and 32 ints, written as straight-line
+ * min/max sequences so that the JIT emits conditional moves instead of branches, and a
+ * leaf sorter built from them. The 4- and 8-input networks are optimal (5 and 19
+ * comparators), the 16-input one is Green's 60-comparator network and the 32-input one
+ * is two of those joined by Batcher's odd-even merge, 185 comparators in all.
+ */
+public final class SortingNetworks {
+    static final int BLOCK = 32;
+    private static final int COMPARATORS_32 = 185;
+    
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[0]);
+    
+    private SortingNetworks() {
+    }
+    
+    /**
+     * Sorts a[o, o + 4)
+     */
+    public static void sort4(int[] a, int o) {
+        ce(a, o, o + 1); ce(a, o + 2, o + 3);
+        ce(a, o, o + 2); ce(a, o + 1, o + 3);
+        ce(a, o + 1, o + 2);
+    }
+    
+    /**
+     * Sorts a[o, o + 8)
+     */
+    public static void sort8(int[] a, int o) {
+        ce(a, o, o + 2); ce(a, o + 1, o + 3); ce(a, o + 4, o + 6); ce(a, o + 5, o + 7);
+        ce(a, o, o + 4); ce(a, o + 1, o + 5); ce(a, o + 2, o + 6); ce(a, o + 3, o + 7);
+        ce(a, o, o + 1); ce(a, o + 2, o + 3); ce(a, o + 4, o + 5); ce(a, o + 6, o + 7);
+        ce(a, o + 2, o + 4); ce(a, o + 3, o + 5);
+        ce(a, o + 1, o + 4); ce(a, o + 3, o + 6);
+        ce(a, o + 1, o + 2); ce(a, o + 3, o + 4); ce(a, o + 5, o + 6);
+    }
+    
+    /**
+     * Sorts a[o, o + 16)
+     */
+    public static void sort16(int[] a, int o) {
+        ce(a, o, o + 13); ce(a, o + 1, o + 12); ce(a, o + 2, o + 15); ce(a, o + 3, o + 14);
+        ce(a, o + 4, o + 8); ce(a, o + 5, o + 6); ce(a, o + 7, o + 11); ce(a, o + 9, o + 10);
+        
+        ce(a, o, o + 5); ce(a, o + 1, o + 7); ce(a, o + 2, o + 9); ce(a, o + 3, o + 4);
+        ce(a, o + 6, o + 13); ce(a, o + 8, o + 14); ce(a, o + 10, o + 15); ce(a, o + 11, o + 12);
+        
+        ce(a, o, o + 1); ce(a, o + 2, o + 3); ce(a, o + 4, o + 5); ce(a, o + 6, o + 8);
+        ce(a, o + 7, o + 9); ce(a, o + 10, o + 11); ce(a, o + 12, o + 13); ce(a, o + 14, o + 15);
+        
+        ce(a, o, o + 2); ce(a, o + 1, o + 3); ce(a, o + 4, o + 10); ce(a, o + 5, o + 11);
+        ce(a, o + 6, o + 7); ce(a, o + 8, o + 9); ce(a, o + 12, o + 14); ce(a, o + 13, o + 15);
+        
+        ce(a, o + 1, o + 2); ce(a, o + 3, o + 12); ce(a, o + 4, o + 6); ce(a, o + 5, o + 7);
+        ce(a, o + 8, o + 10); ce(a, o + 9, o + 11); ce(a, o + 13, o + 14);
+        
+        ce(a, o + 1, o + 4); ce(a, o + 2, o + 6); ce(a, o + 5, o + 8); ce(a, o + 7, o + 10);
+        ce(a, o + 9, o + 13); ce(a, o + 11, o + 14);
+        
+        ce(a, o + 2, o + 4); ce(a, o + 3, o + 6); ce(a, o + 9, o + 12); ce(a, o + 11, o + 13);
+        
+        ce(a, o + 3, o + 5); ce(a, o + 6, o + 8); ce(a, o + 7, o + 9); ce(a, o + 10, o + 12);
+        
+        ce(a, o + 3, o + 4); ce(a, o + 5, o + 6); ce(a, o + 7, o + 8); ce(a, o + 9, o + 10);
+        ce(a, o + 11, o + 12);
+        
+        ce(a, o + 6, o + 7); ce(a, o + 8, o + 9);
+    }
+    
+    /**
+     * Sorts a[o, o + 32): both halves by sort16, then Batcher's odd-even merge
+     */
+    public static void sort32(int[] a, int o) {
+        sort16(a, o);
+        sort16(a, o + 16);
+        
+        ce(a, o, o + 16); ce(a, o + 1, o + 17); ce(a, o + 2, o + 18); ce(a, o + 3, o + 19);
+        ce(a, o + 4, o + 20); ce(a, o + 5, o + 21); ce(a, o + 6, o + 22); ce(a, o + 7, o + 23);
+        ce(a, o + 8, o + 24); ce(a, o + 9, o + 25); ce(a, o + 10, o + 26); ce(a, o + 11, o + 27);
+        ce(a, o + 12, o + 28); ce(a, o + 13, o + 29); ce(a, o + 14, o + 30); ce(a, o + 15, o + 31);
+        
+        ce(a, o + 8, o + 16); ce(a, o + 9, o + 17); ce(a, o + 10, o + 18); ce(a, o + 11, o + 19);
+        ce(a, o + 12, o + 20); ce(a, o + 13, o + 21); ce(a, o + 14, o + 22); ce(a, o + 15, o + 23);
+        
+        ce(a, o + 4, o + 8); ce(a, o + 5, o + 9); ce(a, o + 6, o + 10); ce(a, o + 7, o + 11);
+        ce(a, o + 12, o + 16); ce(a, o + 13, o + 17); ce(a, o + 14, o + 18); ce(a, o + 15, o + 19);
+        ce(a, o + 20, o + 24); ce(a, o + 21, o + 25); ce(a, o + 22, o + 26); ce(a, o + 23, o + 27);
+        
+        ce(a, o + 2, o + 4); ce(a, o + 3, o + 5); ce(a, o + 6, o + 8); ce(a, o + 7, o + 9);
+        ce(a, o + 10, o + 12); ce(a, o + 11, o + 13); ce(a, o + 14, o + 16); ce(a, o + 15, o + 17);
+        ce(a, o + 18, o + 20); ce(a, o + 19, o + 21); ce(a, o + 22, o + 24); ce(a, o + 23, o + 25);
+        ce(a, o + 26, o + 28); ce(a, o + 27, o + 29);
+        
+        ce(a, o + 1, o + 2); ce(a, o + 3, o + 4); ce(a, o + 5, o + 6); ce(a, o + 7, o + 8);
+        ce(a, o + 9, o + 10); ce(a, o + 11, o + 12); ce(a, o + 13, o + 14); ce(a, o + 15, o + 16);
+        ce(a, o + 17, o + 18); ce(a, o + 19, o + 20); ce(a, o + 21, o + 22); ce(a, o + 23, o + 24);
+        ce(a, o + 25, o + 26); ce(a, o + 27, o + 28); ce(a, o + 29, o + 30);
+    }
+    
+    /**
+     * Branchless compare-exchange: a[i] gets the smaller value, a[j] the larger
+     */
+    private static void ce(int[] a, int i, int j) {
+        int x = a[i], y = a[j];
+        a[i] = Math.min(x, y);
+        a[j] = Math.max(x, y);
+    }
+    
+    /**
+     * Leaf sorter: sorts arr[from, to) in blocks of 32 with sort32, padding the last block
+     * with max values, then merges the blocks bottom-up through a per-thread scratch buffer.
+     * Fits RangeSorter, so the merge-based engines can use it in place of their bubble leaf.
+     */
+    public static void sort(int[] arr, int from, int to) {
+        int n = to - from;
+        if (n < 2) return;
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        int[] scratch = SCRATCH.get();
+        if (scratch.length < blocks * BLOCK) {
+            scratch = new int[blocks * BLOCK];
+            SCRATCH.set(scratch);
+        }
+        
+        // Sort full blocks in place, the padded last block inside scratch
+        int full = n / BLOCK;
+        for (int b = 0; b < full; b++) {
+            sort32(arr, from + b * BLOCK);
+        }
+        int tail = n - full * BLOCK;
+        if (tail > 0) {
+            System.arraycopy(arr, from + full * BLOCK, scratch, 0, tail);
+            Arrays.fill(scratch, tail, BLOCK, Integer.MAX_VALUE);
+            sort32(scratch, 0);
+            System.arraycopy(scratch, 0, arr, from + full * BLOCK, tail);
+        }
+        SortMetrics.compared((long) COMPARATORS_32 * blocks);
+        
+        // Merge runs of BLOCK, 2 * BLOCK, ... ping-ponging between arr and scratch
+        int[] src = arr, dst = scratch;
+        int srcOffset = from, dstOffset = 0;
+        for (int width = BLOCK; width < n; width *= 2) {
+            for (int start = 0; start < n; start += 2 * width) {
+                int mid = Math.min(start + width, n);
+                int end = Math.min(start + 2 * width, n);
+                merge(src, srcOffset, dst, dstOffset, start, mid, end);
+            }
+            SortMetrics.compared(n);
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tempOffset;
+        }
+        if (src != arr) {
+            System.arraycopy(src, srcOffset, arr, from, n);
+        }
+    }
+    
+    /**
+     * Merges src[start, mid) and src[mid, end), relative to srcOffset, into the same
+     * positions of dst relative to dstOffset, selecting each element without a branch
+     */
+    private static void merge(int[] src, int srcOffset, int[] dst, int dstOffset, int start, int mid, int end) {
+        int i = srcOffset + start, iEnd = srcOffset + mid;
+        int j = iEnd, jEnd = srcOffset + end;
+        int k = dstOffset + start;
+        while (i < iEnd && j < jEnd) {
+            int x = src[i], y = src[j];
+            boolean left = x <= y;
+            dst[k++] = left ? x : y;
+            i += left ? 1 : 0;
+            j += left ? 0 : 1;
+        }
+        while (i < iEnd) dst[k++] = src[i++];
+        while (j < jEnd) dst[k++] = src[j++];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package bubblesort;
+
+import java.util.Arrays;
+
+/**
+ * Sorted view over values that keep arriving in batches. Each batch is sorted with a
+ * registered algorithm into a new run; runs are kept like an LSM tree, and a run is merged
+ * with the one below it while that one is no larger than twice its size. Run sizes
+ * therefore at least halve from the bottom up, there are O(log n) of them, and each value
+ * takes part in O(log n) merges, so appending a batch of b values costs O(b log n)
+ * amortized rather than a merge over everything stored.
+ *
+ * One thread at a time appends; any thread may take snapshots concurrently.
+ */
+public class StreamingSortedBuffer {
+    private final SortAlgorithm algorithm;
+    private final SortContext ctx;
+    private volatile int[][] runs = new int[0][];
+    
+    public StreamingSortedBuffer(SortContext ctx) {
+        this(SortAlgorithms.get("bitonic-parallel"), ctx);
+    }
+    
+    public StreamingSortedBuffer(SortAlgorithm algorithm, SortContext ctx) {
+        this.algorithm = algorithm;
+        this.ctx = ctx;
+    }
+    
+    public void append(int[] batch) {
+        append(batch, 0, batch.length);
+    }
+    
+    /**
+     * Sorts a copy of batch[from, to) and merges it in; the caller keeps ownership of batch
+     */
+    public synchronized void append(int[] batch, int from, int to) {
+        if (from == to) return;
+        int[] run = Arrays.copyOfRange(batch, from, to);
+        algorithm.sort(run, ctx);
+        
+        int[][] current = runs;
+        int count = current.length;
+        while (count > 0 && current[count - 1].length <= 2 * run.length) {
+            int[] below = current[--count];
+            run = SortedSnapshot.merge(below, run, 0, run.length);
+        }
+        int[][] next = Arrays.copyOf(current, count + 1);
+        next[count] = run;
+        runs = next; // Publishes the new runs; older snapshots keep the arrays they hold
+    }
+    
+    public int size() {
+        int size = 0;
+        for (int[] run : runs) {
+            size += run.length;
+        }
+        return size;
+    }
+    
+    /**
+     * Current contents; costs O(log n) and never blocks appends
+     */
+    public SortedSnapshot snapshot() {
+        return new SortedSnapshot(runs);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+package bubblesort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Odd-even transposition sort with temporal tiling. Instead of streaming the whole array
+ * through memory once per phase, several consecutive phases are applied to a cache-sized
+ * tile before moving on. Phase p compare-exchanges the pairs (i, i + 1) with i % 2 == p % 2,
+ * so a pair depends only on its neighbours one phase earlier; the tiles are shaped so that
+ * every pair still sees exactly the values it would in the untiled sort, and the result
+ * is the same as running the phases one at a time.
+ */
+public class TiledOddEvenSort {
+    private static final int MAX_PHASES_PER_TILE = 256;
+    private static final int FALLBACK_CACHE_BYTES = 32 * 1024;
+    private static final int AUTO_TILE_SIZE = detectTileSize();
+    
+    /**
+     * Tile width in elements derived from the L1 data cache, half of it so the tile and the
+     * lines around it stay resident; phases over an L1-resident tile run faster even when
+     * the whole array fits in L2. Falls back to a 32 KiB cache where sysfs is not available.
+     * The cache is read once, when the class is initialized.
+     */
+    public static int autoTileSize() {
+        return AUTO_TILE_SIZE;
+    }
+    
+    private static int detectTileSize() {
+        int cacheBytes = FALLBACK_CACHE_BYTES;
+        for (int index = 0; index < 4; index++) {
+            Path dir = Paths.get("/sys/devices/system/cpu/cpu0/cache/index" + index);
+            try {
+                if (Files.readString(dir.resolve("level")).trim().equals("1")
+                        && Files.readString(dir.resolve("type")).trim().equals("Data")) {
+                    String text = Files.readString(dir.resolve("size")).trim();
+                    int scale = text.endsWith("K") ? 1024 : text.endsWith("M") ? 1024 * 1024 : 1;
+                    cacheBytes = Integer.parseInt(scale == 1 ? text : text.substring(0, text.length() - 1)) * scale;
+                    break;
+                }
+            } catch (IOException | NumberFormatException e) {
+                break; // Not Linux or no cache information: keep the fallback
+            }
+        }
+        return Math.max(64, cacheBytes / 2 / Integer.BYTES);
+    }
+    
+    /**
+     * Number of phases applied to a tile before moving on
+     */
+    static int phasesPerTile(int tileSize) {
+        return Math.max(1, Math.min(MAX_PHASES_PER_TILE, tileSize / 2));
+    }
+    
+    /**
+     * Sequential tiled odd-even sort. Tiles are parallelograms over (pair, phase) that shift
+     * one pair left per phase and are processed left to right, so every pair's inputs from
+     * the previous phase are already final when it runs. Stops after the first time block
+     * containing an even and an odd phase in which nothing was swapped.
+     */
+    public static void tiledOddEvenSort(int[] arr, int tileSize, CompareExchangeKernels kernels) {
+        int pairs = arr.length - 1; // Left indices of the compare-exchange pairs
+        if (pairs < 1) return;
+        if (tileSize < 2) {
+            throw new IllegalArgumentException("Tile size must be at least 2: " + tileSize);
+        }
+        int depth = phasesPerTile(tileSize);
+        boolean[] changed = new boolean[depth];
+        boolean lastChanged = true;
+        
+        for (int base = 0; ; base += depth) {
+            Arrays.fill(changed, false);
+            for (int lo = 0; lo - (depth - 1) < pairs; lo += tileSize) {
+                for (int s = 0; s < depth; s++) {
+                    int from = Math.max(0, lo - s);
+                    int to = Math.min(pairs, lo + tileSize - s);
+                    if (from < to) {
+                        changed[s] |= phase(arr, from, to, base + s, kernels);
+                    }
+                }
+            }
+            for (int s = 0; s < depth; s++) {
+                SortMetrics.phase();
+            }
+            if (quietRound(lastChanged, changed)) return;
+            lastChanged = changed[depth - 1];
+        }
+    }
+    
+    /**
+     * Parallel tiled odd-even sort. The pairs are cut into chunks of at most tileSize, owned
+     * round-robin by persistent workers. Each time block runs in two barrier-separated steps:
+     * every chunk first advances a trapezoid that shrinks by one pair per phase at each inner
+     * boundary, then the inverted trapezoids left around the boundaries are filled in. Both
+     * steps touch disjoint pairs, so neither needs locking, and there are two barriers per
+     * block instead of one per phase.
+     */
+    public static void parallelTiledOddEvenSort(int[] arr, ForkJoinPool pool, int numWorkers, int tileSize,
+                                                CompareExchangeKernels kernels) {
+        int pairs = arr.length - 1;
+        if (pairs < 1) return;
+        if (tileSize < 2) {
+            throw new IllegalArgumentException("Tile size must be at least 2: " + tileSize);
+        }
+        int chunks = Math.max(numWorkers, (pairs + tileSize - 1) / tileSize);
+        chunks = Math.max(1, Math.min(chunks, pairs / 2));
+        int workers = Math.max(1, Math.min(numWorkers, chunks));
+        
+        int[] bounds = new int[chunks + 1];
+        int narrowest = pairs;
+        for (int c = 0; c <= chunks; c++) {
+            bounds[c] = (int) ((long) pairs * c / chunks);
+            if (c > 0) {
+                narrowest = Math.min(narrowest, bounds[c] - bounds[c - 1]);
+            }
+        }
+        // A gap reaches depth pairs into each neighbour, so the trapezoids must not cross
+        int depth = Math.max(1, Math.min(phasesPerTile(tileSize), narrowest / 2));
+        
+        boolean[][] changed = new boolean[workers][depth];
+        Phaser phaser = new Phaser(workers) {
+            private boolean lastChanged = true;
+            
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                if (phase % 2 == 0) {
+                    return false; // Trapezoids done, the gaps are next
+                }
+                boolean[] merged = new boolean[depth];
+                for (boolean[] row : changed) {
+                    for (int s = 0; s < depth; s++) {
+                        merged[s] |= row[s];
+                        row[s] = false;
+                    }
+                }
+                for (int s = 0; s < depth; s++) {
+                    SortMetrics.phase();
+                }
+                boolean quiet = quietRound(lastChanged, merged);
+                lastChanged = merged[depth - 1];
+                return quiet;
+            }
+        };
+        
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(pool.submit(new TileWorker(arr, bounds, w, workers, depth, changed[w], phaser, kernels)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+    
+    /**
+     * Worker that owns the chunks c with c % workers == id and the gap at each one's right boundary
+     */
+    private static class TileWorker extends RecursiveAction {
+        private final int[] arr;
+        private final int[] bounds;
+        private final int id, workers;
+        private final int depth;
+        private final boolean[] changed;
+        private final Phaser phaser;
+        private final CompareExchangeKernels kernels;
+        
+        TileWorker(int[] arr, int[] bounds, int id, int workers, int depth, boolean[] changed, Phaser phaser,
+                   CompareExchangeKernels kernels) {
+            this.arr = arr;
+            this.bounds = bounds;
+            this.id = id;
+            this.workers = workers;
+            this.depth = depth;
+            this.changed = changed;
+            this.phaser = phaser;
+            this.kernels = kernels;
+        }
+        
+        @Override
+        protected void compute() {
+            try {
+                int chunks = bounds.length - 1;
+                for (int base = 0; ; base += depth) {
+                    long start = SortMetrics.startTimer();
+                    for (int c = id; c < chunks; c += workers) {
+                        // Shrink by one pair per phase at every boundary shared with another chunk
+                        int lo = bounds[c], hi = bounds[c + 1];
+                        for (int s = 0; s < depth; s++) {
+                            int from = c > 0 ? lo + s : lo;
+                            int to = c < chunks - 1 ? hi - s : hi;
+                            changed[s] |= phase(arr, from, to, base + s, kernels);
+                        }
+                    }
+                    SortMetrics.busy(start);
+                    start = SortMetrics.startTimer();
+                    phaser.arriveAndAwaitAdvance();
+                    SortMetrics.waited(start, "forkjoin1-tiled");
+                    
+                    start = SortMetrics.startTimer();
+                    for (int c = id; c < chunks - 1; c += workers) {
+                        // The gap around boundary b grows by one pair per phase on each side
+                        int b = bounds[c + 1];
+                        for (int s = 1; s < depth; s++) {
+                            changed[s] |= phase(arr, b - s, b + s, base + s, kernels);
+                        }
+                    }
+                    SortMetrics.busy(start);
+                    start = SortMetrics.startTimer();
+                    int phase = phaser.arriveAndAwaitAdvance();
+                    SortMetrics.waited(start, "forkjoin1-tiled");
+                    if (phase < 0) {
+                        return; // Terminated: an even and an odd phase made no swaps
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                phaser.forceTermination(); // Release the other workers
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Runs global phase p over the pairs with left index in [from, to)
+     */
+    private static boolean phase(int[] arr, int from, int to, int p, CompareExchangeKernels kernels) {
+        int first = ((from & 1) == (p & 1)) ? from : from + 1;
+        return kernels.oddEvenPairs(arr, first, to + 1);
+    }
+    
+    /**
+     * True if two consecutive phases, counting the last phase of the previous block, swapped
+     * nothing: both parities are then in order, so the array is sorted and the remaining
+     * phases of the block changed nothing either.
+     */
+    private static boolean quietRound(boolean previousChanged, boolean[] changed) {
+        boolean previous = previousChanged;
+        for (boolean current : changed) {
+            if (!previous && !current) {
+                return true;
+            }
+            previous = current;
+        }
+        return false;
+    }
+}
\ No newline at end of file
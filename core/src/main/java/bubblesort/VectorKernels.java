@@ -0,0 +1,155 @@
+package bubblesort;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Compare-exchange kernels on the incubating Vector API. A compare-exchange of two
+ * vectors is a lane-wise min and max; pairs inside one vector (the odd/even offset and
+ * bitonic strides shorter than a vector) are lined up with a shuffle and recombined
+ * with a blend. Only loaded through CompareExchangeKernels.vectorized().
+ */
+final class VectorKernels implements CompareExchangeKernels {
+    private final VectorSpecies<Integer> species;
+    private final int lanes;
+    
+    // Lanes 2m and 2m + 1 exchanged, and the odd lanes that keep the maximum
+    private final VectorShuffle<Integer> swapAdjacent;
+    private final VectorMask<Integer> oddLanes;
+    
+    // Indexed by log2(j) for strides j < lanes: partner lane l ^ j, lanes with bit j clear
+    private final VectorShuffle<Integer>[] xorShuffles;
+    private final VectorMask<Integer>[] lowLanes;
+    
+    // Indexed by [log2(j)][log2(k)] for k < lanes: lanes that keep the minimum
+    private final VectorMask<Integer>[][] takeMin;
+    
+    @SuppressWarnings("unchecked")
+    VectorKernels(int bits) {
+        this.species = bits == 0 ? IntVector.SPECIES_PREFERRED
+            : VectorSpecies.of(int.class, VectorShape.forBitSize(bits));
+        this.lanes = species.length();
+        if (lanes < 2) {
+            throw new IllegalArgumentException("Vector of " + bits + " bits holds fewer than two ints");
+        }
+        
+        this.swapAdjacent = VectorShuffle.fromOp(species, lane -> lane ^ 1);
+        this.oddLanes = VectorMask.fromLong(species, 0xAAAAAAAAAAAAAAAAL);
+        
+        int levels = Integer.numberOfTrailingZeros(lanes);
+        this.xorShuffles = (VectorShuffle<Integer>[]) new VectorShuffle<?>[levels];
+        this.lowLanes = (VectorMask<Integer>[]) new VectorMask<?>[levels];
+        this.takeMin = (VectorMask<Integer>[][]) new VectorMask<?>[levels][levels];
+        for (int lj = 0; lj < levels; lj++) {
+            int j = 1 << lj;
+            xorShuffles[lj] = VectorShuffle.fromOp(species, lane -> lane ^ j);
+            boolean[] low = new boolean[lanes];
+            for (int lane = 0; lane < lanes; lane++) {
+                low[lane] = (lane & j) == 0;
+            }
+            lowLanes[lj] = VectorMask.fromArray(species, low, 0);
+            
+            for (int lk = lj + 1; lk < levels; lk++) {
+                int k = 1 << lk;
+                boolean[] min = new boolean[lanes];
+                for (int lane = 0; lane < lanes; lane++) {
+                    min[lane] = low[lane] == ((lane & k) == 0);
+                }
+                takeMin[lj][lk] = VectorMask.fromArray(species, min, 0);
+            }
+        }
+    }
+    
+    @Override
+    public String name() {
+        return "vector-" + species.vectorBitSize() + " (" + lanes + " lanes)";
+    }
+    
+    @Override
+    public boolean oddEvenPairs(int[] arr, int first, int to) {
+        VectorMask<Integer> changed = species.maskAll(false);
+        int i = first;
+        for (; i + lanes <= to; i += lanes) {
+            IntVector v = IntVector.fromArray(species, arr, i);
+            IntVector partner = v.rearrange(swapAdjacent);
+            IntVector result = v.min(partner).blend(v.max(partner), oddLanes);
+            VectorMask<Integer> moved = result.compare(VectorOperators.NE, v);
+            changed = changed.or(moved);
+            result.intoArray(arr, i);
+            if (SortMetrics.ENABLED) {
+                SortMetrics.swapped(moved.trueCount() / 2);
+            }
+        }
+        
+        boolean anyChanged = changed.anyTrue();
+        int swaps = 0;
+        for (; i + 1 < to; i += 2) {
+            if (arr[i] > arr[i + 1]) {
+                ArrayUtils.swap(arr, i, i + 1);
+                anyChanged = true;
+                swaps++;
+            }
+        }
+        SortMetrics.compared(Math.max(0, to - first) / 2);
+        SortMetrics.swapped(swaps);
+        return anyChanged;
+    }
+    
+    @Override
+    public void compareExchangeRun(int[] arr, int i, int j, int count, boolean ascending) {
+        int m = 0;
+        for (; m + lanes <= count; m += lanes) {
+            IntVector a = IntVector.fromArray(species, arr, i + m);
+            IntVector b = IntVector.fromArray(species, arr, i + j + m);
+            IntVector lo = a.min(b);
+            IntVector hi = a.max(b);
+            if (SortMetrics.ENABLED) {
+                SortMetrics.swapped(a.compare(ascending ? VectorOperators.GT : VectorOperators.LT, b).trueCount());
+            }
+            if (ascending) {
+                lo.intoArray(arr, i + m);
+                hi.intoArray(arr, i + j + m);
+            } else {
+                hi.intoArray(arr, i + m);
+                lo.intoArray(arr, i + j + m);
+            }
+        }
+        SortMetrics.compared(m);
+        ScalarKernels.INSTANCE.compareExchangeRun(arr, i + m, j, count - m, ascending);
+    }
+    
+    @Override
+    public void bitonicStage(int[] arr, int from, int to, int k, int j) {
+        if (j >= lanes) {
+            // Partners are in different vectors: whole runs of j elements at a time
+            for (int block = from; block < to; block += 2 * j) {
+                compareExchangeRun(arr, block, j, j, (block & k) == 0);
+            }
+            return;
+        }
+        if (from % lanes != 0) {
+            ScalarKernels.INSTANCE.bitonicStage(arr, from, to, k, j);
+            return;
+        }
+        
+        int lj = Integer.numberOfTrailingZeros(j);
+        int i = from;
+        for (; i + lanes <= to; i += lanes) {
+            IntVector v = IntVector.fromArray(species, arr, i);
+            IntVector partner = v.rearrange(xorShuffles[lj]);
+            VectorMask<Integer> keepMin = k < lanes ? takeMin[lj][Integer.numberOfTrailingZeros(k)]
+                : (i & k) == 0 ? lowLanes[lj] : lowLanes[lj].not();
+            IntVector result = v.max(partner).blend(v.min(partner), keepMin);
+            result.intoArray(arr, i);
+            if (SortMetrics.ENABLED) {
+                SortMetrics.swapped(result.compare(VectorOperators.NE, v).trueCount() / 2);
+            }
+        }
+        SortMetrics.compared((i - from) / 2);
+        ScalarKernels.INSTANCE.bitonicStage(arr, i, to, k, j);
+    }
+}
\ No newline at end of file